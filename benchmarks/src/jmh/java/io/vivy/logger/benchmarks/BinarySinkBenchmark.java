@@ -0,0 +1,93 @@
+package io.vivy.logger.benchmarks;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.FileAppender;
+import io.vivy.logger.logback.BinaryLogAppender;
+import io.vivy.logger.logback.JsonEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing an event with an {@code event} name and a few context values to a file, as JSON lines
+ * through a buffered file appender or in the binary format through a memory mapping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BinarySinkBenchmark {
+
+    private Path directory;
+    private LoggingEvent event;
+    private FileAppender<ILoggingEvent> json;
+    private BinaryLogAppender binary;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        LoggerContext context = new LoggerContext();
+        directory = Files.createTempDirectory("sink-benchmark");
+
+        Map<String, String> mdc = new HashMap<>();
+        mdc.put("event", "order_created");
+        mdc.put("user_id", "42");
+        mdc.put("order_id", "1234567");
+        mdc.put("tenant", "shire");
+
+        event = new LoggingEvent(BinarySinkBenchmark.class.getName(), context.getLogger("bench.enabled"),
+                ch.qos.logback.classic.Level.INFO, "order {} created", null, new Object[]{1234567});
+        event.setMDCPropertyMap(mdc);
+        event.getFormattedMessage();
+
+        JsonEncoder encoder = new JsonEncoder();
+        encoder.setContext(context);
+        encoder.start();
+
+        json = new FileAppender<>();
+        json.setContext(context);
+        json.setFile(directory.resolve("app.json").toString());
+        json.setEncoder(encoder);
+        json.setImmediateFlush(false);
+        json.start();
+
+        binary = new BinaryLogAppender();
+        binary.setContext(context);
+        binary.setFile(directory.resolve("app.vlog").toString());
+        binary.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        json.stop();
+        binary.stop();
+        for (File file : directory.toFile().listFiles()) {
+            file.delete();
+        }
+        directory.toFile().delete();
+    }
+
+    @Benchmark
+    public void json() {
+        json.doAppend(event);
+    }
+
+    @Benchmark
+    public void binary() {
+        binary.doAppend(event);
+    }
+}
@@ -0,0 +1,66 @@
+package io.vivy.logger.benchmarks;
+
+import io.vivy.logger.AsyncEmitter;
+import io.vivy.logger.ContextLogger;
+import io.vivy.logger.Emitters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.vivy.logger.benchmarks.Loggers.ENABLED;
+
+/**
+ * One logger shared by many threads, each extending it with a context of its own per call.
+ */
+@State(Scope.Benchmark)
+@Threads(8)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ContentionBenchmark {
+
+    private final ContextLogger mdc = ContextLogger.of(ENABLED).with("service", "shire");
+    private final ContextLogger events = ContextLogger.of(ENABLED, Emitters.events()).with("service", "shire");
+
+    private AsyncEmitter emitter;
+    private ContextLogger async;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        emitter = AsyncEmitter.start(Emitters.events(), 16384, AsyncEmitter.Overflow.DROP);
+        async = ContextLogger.of(ENABLED, emitter).with("service", "shire");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        emitter.close();
+    }
+
+    @Benchmark
+    public void raw() {
+        ENABLED.info("request {}", Thread.currentThread().getId());
+    }
+
+    @Benchmark
+    public void contextViaMdc() {
+        mdc.with("thread", Thread.currentThread().getId()).info("request");
+    }
+
+    @Benchmark
+    public void contextViaEvents() {
+        events.with("thread", Thread.currentThread().getId()).info("request");
+    }
+
+    @Benchmark
+    public void contextViaAsync() {
+        async.with("thread", Thread.currentThread().getId()).info("request");
+    }
+}
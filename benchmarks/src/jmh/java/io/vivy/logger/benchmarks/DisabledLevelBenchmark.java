@@ -0,0 +1,77 @@
+package io.vivy.logger.benchmarks;
+
+import io.vivy.logger.ContextLogger;
+import io.vivy.logger.Emitters;
+import io.vivy.logger.ThrottlingEmitter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.vivy.logger.benchmarks.Loggers.DISABLED;
+import static io.vivy.logger.benchmarks.Loggers.ENABLED;
+
+/**
+ * Calls below the configured level, which should cost next to nothing, and enabled calls which are
+ * suppressed by sampling instead.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DisabledLevelBenchmark {
+
+    private final ContextLogger prebuilt = ContextLogger.of(DISABLED)
+            .event("disabled")
+            .with("user_id", 42L, "tenant", "shire");
+
+    private final ContextLogger cached = prebuilt.cachingLevels();
+
+    private final ContextLogger throttled = ContextLogger.of(
+            ENABLED,
+            ThrottlingEmitter.builder(Emitters.events()).sampleOneIn("disabled", Integer.MAX_VALUE).build()
+    )
+            .event("disabled")
+            .with("user_id", 42L, "tenant", "shire");
+
+    private long counter;
+
+    @Benchmark
+    public void raw() {
+        DISABLED.debug("disabled {}", ++counter);
+    }
+
+    @Benchmark
+    public void prebuiltContext() {
+        prebuilt.debug("disabled {}", ++counter);
+    }
+
+    @Benchmark
+    public void prebuiltContextCachedLevels() {
+        cached.debug("disabled {}", ++counter);
+    }
+
+    @Benchmark
+    public void inlineContext() {
+        ContextLogger.of(DISABLED)
+                .event("disabled")
+                .with("user_id", 42L, "tenant", "shire", "counter", ++counter)
+                .debug();
+    }
+
+    @Benchmark
+    public void levelScopedContext() {
+        prebuilt.atDebug()
+                .with("counter", ++counter)
+                .with("tenant", "shire")
+                .log("disabled");
+    }
+
+    @Benchmark
+    public void prebuiltContextSuppressed() {
+        throttled.info("suppressed {}", ++counter);
+    }
+}
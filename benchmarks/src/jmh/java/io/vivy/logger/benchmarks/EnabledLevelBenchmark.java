@@ -0,0 +1,84 @@
+package io.vivy.logger.benchmarks;
+
+import io.vivy.logger.ContextLogger;
+import io.vivy.logger.ContextScope;
+import io.vivy.logger.Emitters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.slf4j.MDC;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.vivy.logger.benchmarks.Loggers.ENABLED;
+
+/**
+ * Enabled calls through a no-op appender, so the numbers are dominated by the logging layer itself.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EnabledLevelBenchmark {
+
+    private final ContextLogger mdc = ContextLogger.of(ENABLED)
+            .event("enabled")
+            .with("user_id", 42L, "tenant", "shire");
+
+    private final ContextLogger events = ContextLogger.of(ENABLED, Emitters.events())
+            .event("enabled")
+            .with("user_id", 42L, "tenant", "shire");
+
+    private long counter;
+
+    @Benchmark
+    public void raw() {
+        ENABLED.info("enabled {}", ++counter);
+    }
+
+    @Benchmark
+    public void rawWithMdc() {
+        MDC.put("event", "enabled");
+        MDC.put("user_id", "42");
+        MDC.put("tenant", "shire");
+        try {
+            ENABLED.info("enabled {}", ++counter);
+        } finally {
+            MDC.remove("event");
+            MDC.remove("user_id");
+            MDC.remove("tenant");
+        }
+    }
+
+    @Benchmark
+    public void contextViaMdc() {
+        mdc.info("enabled {}", ++counter);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(5)
+    public void contextViaMdcBatch() {
+        for (int i = 0; i < 5; i++) {
+            mdc.info("enabled {}", ++counter);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(5)
+    @SuppressWarnings("try")
+    public void contextViaMdcBatchInScope() {
+        try (ContextScope scope = mdc.open()) {
+            for (int i = 0; i < 5; i++) {
+                mdc.info("enabled {}", ++counter);
+            }
+        }
+    }
+
+    @Benchmark
+    public void contextViaEvents() {
+        events.info("enabled {}", ++counter);
+    }
+}
@@ -0,0 +1,78 @@
+package io.vivy.logger.benchmarks;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.encoder.Encoder;
+import io.vivy.logger.logback.JsonEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static io.vivy.logger.benchmarks.Loggers.KEYS;
+import static io.vivy.logger.benchmarks.Loggers.VALUES;
+
+/**
+ * Encoding a single event with its context, the pattern encoder printing {@code %X} is the baseline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EncoderBenchmark {
+
+    @Param({"1", "5", "10"})
+    int keys;
+
+    private LoggingEvent event;
+    private Encoder<ILoggingEvent> pattern;
+    private Encoder<ILoggingEvent> json;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LoggerContext context = new LoggerContext();
+
+        Map<String, String> mdc = new HashMap<>();
+        mdc.put("event", "order_created");
+        for (int i = 0; i < keys; i++) {
+            mdc.put(KEYS[i], String.valueOf(VALUES[i]));
+        }
+
+        event = new LoggingEvent(EncoderBenchmark.class.getName(), context.getLogger("bench.enabled"),
+                ch.qos.logback.classic.Level.INFO, "order {} created", null, new Object[]{42});
+        event.setMDCPropertyMap(mdc);
+        // formatted once like appenders do, the message is cached in the event
+        event.getFormattedMessage();
+
+        PatternLayoutEncoder patternEncoder = new PatternLayoutEncoder();
+        patternEncoder.setContext(context);
+        patternEncoder.setPattern("%date %level [%thread] %logger %msg %X%n");
+        patternEncoder.start();
+        pattern = patternEncoder;
+
+        JsonEncoder jsonEncoder = new JsonEncoder();
+        jsonEncoder.setContext(context);
+        jsonEncoder.start();
+        json = jsonEncoder;
+    }
+
+    @Benchmark
+    public byte[] pattern() {
+        return pattern.encode(event);
+    }
+
+    @Benchmark
+    public byte[] json() {
+        return json.encode(event);
+    }
+}
@@ -0,0 +1,23 @@
+package io.vivy.logger.benchmarks;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+final class Loggers {
+
+    static final Logger ENABLED = LoggerFactory.getLogger("bench.enabled");
+    static final Logger DISABLED = LoggerFactory.getLogger("bench.disabled");
+
+    static final String[] KEYS = new String[10];
+    static final Object[] VALUES = new Object[10];
+
+    static {
+        for (int i = 0; i < KEYS.length; i++) {
+            KEYS[i] = "key_" + i;
+            VALUES[i] = i % 2 == 0 ? "value_" + i : (Object) (1000L + i);
+        }
+    }
+
+    private Loggers() {
+    }
+}
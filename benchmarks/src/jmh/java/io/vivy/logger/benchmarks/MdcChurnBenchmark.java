@@ -0,0 +1,66 @@
+package io.vivy.logger.benchmarks;
+
+import io.vivy.logger.LogContext;
+import io.vivy.logger.MdcSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static io.vivy.logger.benchmarks.Loggers.KEYS;
+import static io.vivy.logger.benchmarks.Loggers.VALUES;
+
+/**
+ * Only the MDC work around a call, per key versus in bulk, with and without values of an outer scope.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MdcChurnBenchmark {
+
+    @Param({"1", "5", "10"})
+    int keys;
+
+    @Param({"false", "true"})
+    boolean outer;
+
+    private Map<String, String> context;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LogContext ctx = LogContext.empty();
+        for (int i = 0; i < keys; i++) {
+            ctx = ctx.with(KEYS[i], VALUES[i]);
+        }
+        context = ctx.toMap();
+
+        MDC.clear();
+        if (outer) {
+            MDC.put("trace_id", "0af7651916cd43dd8448eb211c80319c");
+        }
+    }
+
+    @Benchmark
+    public void putRemove() {
+        for (Map.Entry<String, String> entry : context.entrySet()) {
+            MDC.put(entry.getKey(), entry.getValue());
+        }
+        for (String key : context.keySet()) {
+            MDC.remove(key);
+        }
+    }
+
+    @Benchmark
+    public void installRestore() {
+        MdcSupport.restore(MdcSupport.install(context));
+    }
+}
@@ -0,0 +1,18 @@
+package io.vivy.logger.benchmarks;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+
+/**
+ * Drops events, but reads what a real encoder would read: the formatted message and the MDC.
+ * Not synchronized, so contention benchmarks measure the logger and not the appender lock.
+ */
+public class NoopAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+    static volatile int sink;
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        sink = event.getFormattedMessage().length() + event.getMDCPropertyMap().size();
+    }
+}
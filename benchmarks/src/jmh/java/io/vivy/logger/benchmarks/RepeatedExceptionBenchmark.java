@@ -0,0 +1,83 @@
+package io.vivy.logger.benchmarks;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import io.vivy.logger.ContextLogger;
+import io.vivy.logger.Emitters;
+import io.vivy.logger.FingerprintingEmitter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.slf4j.Logger;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging the same deep stack trace over and over through a pattern encoder, rendered every time
+ * or once per window.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RepeatedExceptionBenchmark {
+
+    private static final int DEPTH = 200;
+
+    private Throwable failure;
+    private ContextLogger rendered;
+    private ContextLogger fingerprinted;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LoggerContext context = new LoggerContext();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%date %level [%thread] %logger %msg %X%n%ex");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        });
+        appender.start();
+
+        ch.qos.logback.classic.Logger logger = context.getLogger("bench.exceptions");
+        logger.addAppender(appender);
+        logger.setAdditive(false);
+
+        failure = fail(DEPTH);
+        rendered = ContextLogger.of((Logger) logger, Emitters.events()).event("payment_failed");
+        fingerprinted = ContextLogger.of((Logger) logger, FingerprintingEmitter.builder(Emitters.events()).build()).event("payment_failed");
+    }
+
+    @Benchmark
+    public void rendered() {
+        rendered.error(failure);
+    }
+
+    @Benchmark
+    public void fingerprinted() {
+        fingerprinted.error(failure);
+    }
+
+    private static Throwable fail(int depth) {
+        return depth == 0 ? new IllegalStateException("upstream timed out") : fail(depth - 1);
+    }
+}
@@ -0,0 +1,99 @@
+package io.vivy.logger.benchmarks;
+
+import io.vivy.logger.ContextFragment;
+import io.vivy.logger.ContextLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.slf4j.MDC;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.vivy.logger.benchmarks.Loggers.ENABLED;
+import static io.vivy.logger.benchmarks.Loggers.KEYS;
+import static io.vivy.logger.benchmarks.Loggers.VALUES;
+
+/**
+ * Cost of building a context of {@code depth} single-key {@code with} calls, alone and followed by an enabled call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WithChainBenchmark {
+
+    @Param({"1", "2", "5", "10"})
+    int depth;
+
+    private ContextFragment fragment;
+
+    private long counter = 1_000_000;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fragment = ContextFragment.empty();
+        for (int i = 0; i < depth; i++) {
+            fragment = fragment.with(KEYS[i], VALUES[i]);
+        }
+    }
+
+    @Benchmark
+    public ContextLogger buildChain() {
+        ContextLogger logger = ContextLogger.of(ENABLED);
+        for (int i = 0; i < depth; i++) {
+            logger = logger.with(KEYS[i], VALUES[i]);
+        }
+        return logger;
+    }
+
+    @Benchmark
+    public ContextLogger buildBoxedCounters() {
+        ContextLogger logger = ContextLogger.of(ENABLED);
+        for (int i = 0; i < depth; i++) {
+            logger = logger.with(KEYS[i], (Object) (++counter));
+        }
+        return logger;
+    }
+
+    @Benchmark
+    public ContextLogger buildPrimitiveCounters() {
+        ContextLogger logger = ContextLogger.of(ENABLED);
+        for (int i = 0; i < depth; i++) {
+            logger = logger.with(KEYS[i], ++counter);
+        }
+        return logger;
+    }
+
+    @Benchmark
+    public void buildChainAndLog() {
+        ContextLogger logger = ContextLogger.of(ENABLED);
+        for (int i = 0; i < depth; i++) {
+            logger = logger.with(KEYS[i], VALUES[i]);
+        }
+        logger.info("chain of {}", depth);
+    }
+
+    @Benchmark
+    public void fragmentAndLog() {
+        ContextLogger.of(ENABLED).with(fragment).info("chain of {}", depth);
+    }
+
+    @Benchmark
+    public void rawMdcAndLog() {
+        for (int i = 0; i < depth; i++) {
+            MDC.put(KEYS[i], String.valueOf(VALUES[i]));
+        }
+        try {
+            ENABLED.info("chain of {}", depth);
+        } finally {
+            for (int i = 0; i < depth; i++) {
+                MDC.remove(KEYS[i]);
+            }
+        }
+    }
+}
@@ -2,13 +2,17 @@ package io.vivy.logger.generator;
 
 import com.google.auto.service.AutoService;
 import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.WildcardTypeName;
+import io.vivy.logger.generator.annotations.ContextKey;
 import io.vivy.logger.generator.annotations.GenerateContextLogger;
-import org.slf4j.MDC;
+import org.slf4j.Marker;
 
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.ProcessingEnvironment;
@@ -16,26 +20,35 @@ import javax.annotation.processing.Processor;
 import javax.annotation.processing.RoundEnvironment;
 import javax.annotation.processing.SupportedSourceVersion;
 import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
 import javax.tools.JavaFileObject;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
 import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
 
 @AutoService(Processor.class)
 @SupportedSourceVersion(SourceVersion.RELEASE_8)
@@ -43,6 +56,39 @@ public class ContextLoggerImplementationGenerator extends AbstractProcessor {
 
     private static final Logger LOGGER = Logger.getLogger(ContextLoggerImplementationGenerator.class.toString());
 
+    private static final ClassName CONTEXT_LOGGER = ClassName.get("io.vivy.logger", "ContextLogger");
+    private static final ClassName LOG_CONTEXT = ClassName.get("io.vivy.logger", "LogContext");
+    private static final ClassName CONTEXT_FRAGMENT = ClassName.get("io.vivy.logger", "ContextFragment");
+    private static final ClassName EMITTER = ClassName.get("io.vivy.logger", "Emitter");
+    private static final ClassName MDC_SUPPORT = ClassName.get("io.vivy.logger", "MdcSupport");
+    private static final ClassName CACHED_LEVEL = ClassName.get("io.vivy.logger", "CachedLevel");
+    private static final ClassName LOG_METRICS = ClassName.get("io.vivy.logger", "LogMetrics");
+    private static final ClassName LEVEL_OVERRIDES = ClassName.get("io.vivy.logger", "LevelOverrides");
+
+    private static final CodeBlock LEVELS_FIELD = CodeBlock.of("levels");
+
+    private static final List<String> LEVELS = asList("trace", "debug", "info", "warn", "error");
+
+    /**
+     * Types with a {@code with(String, type)} overload of their own, stored unboxed by {@code LogContext}.
+     */
+    private static final List<TypeName> PRIMITIVES = asList(TypeName.LONG, TypeName.INT, TypeName.DOUBLE, TypeName.FLOAT, TypeName.BOOLEAN, TypeName.CHAR);
+
+    /**
+     * Only methods of these types are delegated, everything else is generated explicitly.
+     */
+    private static final List<String> DELEGATED = asList(org.slf4j.Logger.class.getName(), Object.class.getName());
+
+    /**
+     * Methods of {@code ContextLogger} which typed interfaces must redeclare returning themselves.
+     */
+    private static final List<String> CHAINED = asList("event(String)", "with(String, Object)");
+
+    /**
+     * Fields of the generated loggers, typed context methods can't be named like them.
+     */
+    private static final List<String> RESERVED = asList("logger", "emitter", "levels", "context", "slots", "effective");
+
     @Override
     public Set<String> getSupportedAnnotationTypes() {
         return new HashSet<>(Collections.singletonList(GenerateContextLogger.class.getName()));
@@ -68,101 +114,28 @@ public class ContextLoggerImplementationGenerator extends AbstractProcessor {
 
             for (TypeElement annotation : annotations) {
                 roundEnv.getElementsAnnotatedWith(annotation).forEach(element -> {
-                    ClassName loggerClassName = ClassName.get(processingEnv.getElementUtils().getPackageOf(element).getQualifiedName().toString(), "MDCLogger");
-                    ClassName contextLogger = ClassName.get(loggerClassName.packageName(), "ContextLogger");
-                    Class<org.slf4j.Logger> slf4jLoggerClass = org.slf4j.Logger.class;
-
-                    TypeSpec.Builder logger = TypeSpec.classBuilder(loggerClassName)
-                            .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
-                            .addSuperinterface(contextLogger)
-                            .addField(FieldSpec.builder(slf4jLoggerClass, "logger", Modifier.PRIVATE, Modifier.FINAL).build())
-                            .addField(FieldSpec.builder(ParameterizedTypeName.get(Map.class, String.class, String.class), "context", Modifier.PRIVATE, Modifier.FINAL).build())
-                            .addMethod(
-                                    MethodSpec.constructorBuilder()
-                                            .addModifiers(Modifier.PUBLIC)
-                                            .addParameter(slf4jLoggerClass, "logger")
-                                            .addStatement("this(logger, $T.emptyMap())", Collections.class)
-                                            .build()
-                            )
-                            .addMethod(
-                                    MethodSpec.constructorBuilder()
-                                            .addModifiers(Modifier.PRIVATE)
-                                            .addParameter(slf4jLoggerClass, "logger")
-                                            .addParameter(ParameterizedTypeName.get(Map.class, String.class, String.class), "context")
-                                            .addStatement("this.logger = logger")
-                                            .addStatement("this.context = context")
-                                            .build()
-                            );
-
-                    // all `with` methods
-                    for (int i = 1; i <= 5; i++) {
-                        MethodSpec.Builder with = MethodSpec.methodBuilder("with")
-                                .addAnnotation(Override.class)
-                                .addModifiers(Modifier.PUBLIC)
-                                .returns(contextLogger)
-                                .addStatement("$T ctx = new $T<>(context)", ParameterizedTypeName.get(Map.class, String.class, String.class), HashMap.class);
-
-                        // key-value pairs
-                        for (int c = 1; c <= i; c++) {
-                            with
-                                    .addParameter(String.class, "key" + c)
-                                    .addParameter(Object.class, "value" + c)
-                                    .addStatement("ctx.put(key$2L, value$2L instanceof $1T ? ($1T) value$2L : $1T.valueOf(value$2L))", String.class, c);
-                        }
-
-                        logger.addMethod(
-                                with
-                                        .addStatement("return new $T(logger, ctx)", loggerClassName)
-                                        .build()
-                        );
+                    if (element.getKind() != ElementKind.INTERFACE || !isContextLogger((TypeElement) element)) {
+                        error(element, "@%s can only be put on %s or interfaces extending it", GenerateContextLogger.class.getSimpleName(), CONTEXT_LOGGER.simpleName());
+                        return;
                     }
 
+                    TypeElement type = (TypeElement) element;
+                    String packageName = processingEnv.getElementUtils().getPackageOf(element).getQualifiedName().toString();
+                    ClassName implementation = ClassName.get(packageName, implementationName(type));
 
-                    // delegation
-                    processingEnv.getElementUtils().getAllMembers((TypeElement) element)
-                            .stream()
-                            .filter(it -> it.getKind() == ElementKind.METHOD)
-                            .filter(it -> !it.getModifiers().contains(Modifier.STATIC))
-                            .filter(it -> !it.getModifiers().contains(Modifier.FINAL))
-                            .filter(it -> !it.getModifiers().contains(Modifier.NATIVE))
-                            .filter(it -> !it.getEnclosingElement().equals(element))
-                            .map(ExecutableElement.class::cast)
-                            .map(it -> {
-                                MethodSpec.Builder overriding = MethodSpec.overriding(it);
-
-                                String args = it.getParameters().stream().map(VariableElement::getSimpleName).collect(joining(", "));
-
-                                if (it.getReturnType().getKind() != TypeKind.VOID) {
-                                    overriding.addStatement("return logger.$L($L)", it.getSimpleName(), args);
-                                } else {
-                                    if (asList("trace", "debug", "info", "warn", "error").contains(it.getSimpleName().toString())) {
-                                        overriding.addCode("if (!is$LEnabled()) { return; }\n", capitalizeName(it));
-                                    }
-
-
-                                    overriding
-                                            .addCode("for ($T entry : context.entrySet()) {\n  ", ParameterizedTypeName.get(Map.Entry.class, String.class, String.class))
-                                            .addStatement("$T.put(entry.getKey(), entry.getValue())", MDC.class)
-                                            .addCode("}\n")
-
-                                            .addCode("try {\n  ")
-                                            .addStatement("logger.$L($L)", it.getSimpleName(), args)
-                                            .addCode("} finally {\n  ")
-
-                                            .addCode("for ($T key : context.keySet()) {\n    ", String.class)
-                                            .addStatement("$T.remove(key)", MDC.class)
-                                            .addCode("  }\n")
-                                            .addCode("}\n");
-                                }
+                    if (isTyped(type)) {
+                        checkChaining(type);
+                    }
 
-                                return overriding.build();
-                            })
-                            .forEach(logger::addMethod);
+                    // the base interface gets the generic logger, interfaces extending it a typed one
+                    TypeSpec logger = isTyped(type)
+                            ? generate(type, implementation, slots(type))
+                            : generate(type, implementation, Collections.emptyList());
 
                     JavaFile build = JavaFile
                             .builder(
-                                    loggerClassName.packageName(),
-                                    logger.build()
+                                    packageName,
+                                    logger
                             )
                             .build();
 
@@ -180,6 +153,517 @@ public class ContextLoggerImplementationGenerator extends AbstractProcessor {
         return false;
     }
 
+    private TypeSpec generate(TypeElement element, ClassName loggerClassName, List<Slot> slots) {
+        TypeName self = TypeName.get(element.asType());
+        Class<org.slf4j.Logger> slf4jLoggerClass = org.slf4j.Logger.class;
+        String context = slots.isEmpty() ? "context" : "context()";
+
+        // the only input of the generated class, as required by incremental isolating processing
+        TypeSpec.Builder logger = TypeSpec.classBuilder(loggerClassName)
+                .addOriginatingElement(element)
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addSuperinterface(self)
+                .addField(FieldSpec.builder(slf4jLoggerClass, "logger", Modifier.PRIVATE, Modifier.FINAL).build())
+                .addField(FieldSpec.builder(EMITTER, "emitter", Modifier.PRIVATE, Modifier.FINAL).build())
+                .addField(FieldSpec.builder(CACHED_LEVEL, "levels", Modifier.PRIVATE, Modifier.FINAL).build())
+                .addField(FieldSpec.builder(LOG_CONTEXT, "context", Modifier.PRIVATE, Modifier.FINAL).build());
+
+        MethodSpec.Builder constructor = MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(slf4jLoggerClass, "logger")
+                .addParameter(EMITTER, "emitter")
+                .addParameter(CACHED_LEVEL, "levels")
+                .addParameter(LOG_CONTEXT, "context")
+                .addStatement("this.logger = logger")
+                .addStatement("this.emitter = emitter")
+                .addStatement("this.levels = levels")
+                .addStatement("this.context = context");
+
+        // typed fields, one final field per slot and a bit mask of the ones which were set
+        if (!slots.isEmpty()) {
+            logger
+                    .addJavadoc("Typed values live in fields while the logger is built, setting one copies the fields without any hashing.\n")
+                    .addJavadoc("Logging appends the set ones to the {@link $T} once per logger instance, from there on they are\n", LOG_CONTEXT)
+                    .addJavadoc("emitted like values added with {@code with(...)}: flattened into a map per line, unless the whole context\n")
+                    .addJavadoc("holds strings, primitives, boxes and enums only, whose map is cached.\n")
+                    .addField(FieldSpec.builder(long.class, "slots", Modifier.PRIVATE, Modifier.FINAL).build())
+                    .addField(
+                            FieldSpec.builder(LOG_CONTEXT, "effective", Modifier.PRIVATE)
+                                    .addJavadoc("Context with all set slots, racy but idempotent as {@link $T} is immutable.\n", LOG_CONTEXT)
+                                    .build()
+                    );
+            constructor
+                    .addParameter(long.class, "slots")
+                    .addStatement("this.slots = slots");
+
+            for (Slot slot : slots) {
+                logger
+                        .addField(FieldSpec.builder(String.class, slot.constant(), Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL).initializer("$S", slot.key).build())
+                        .addField(FieldSpec.builder(slot.type, slot.name, Modifier.PRIVATE, Modifier.FINAL).build());
+                constructor
+                        .addParameter(slot.type, slot.name)
+                        .addStatement("this.$1L = $1L", slot.name);
+            }
+        }
+
+        String initialSlots = slots.stream().map(it -> ", " + defaultValue(it.type)).collect(joining("", slots.isEmpty() ? "" : ", 0L", ""));
+
+        logger
+                .addMethod(
+                        MethodSpec.constructorBuilder()
+                                .addModifiers(Modifier.PUBLIC)
+                                .addParameter(slf4jLoggerClass, "logger")
+                                .addStatement("this(logger, null, null, $T.empty()$L)", LOG_CONTEXT, initialSlots)
+                                .build()
+                )
+                .addMethod(
+                        MethodSpec.constructorBuilder()
+                                .addModifiers(Modifier.PUBLIC)
+                                .addParameter(slf4jLoggerClass, "logger")
+                                .addParameter(EMITTER, "emitter")
+                                .addStatement("this(logger, emitter, null, $T.empty()$L)", LOG_CONTEXT, initialSlots)
+                                .build()
+                )
+                .addMethod(constructor.build());
+
+        // all `with` methods
+        for (int i = 1; i <= 5; i++) {
+            MethodSpec.Builder with = MethodSpec.methodBuilder("with")
+                    .addAnnotation(Override.class)
+                    .addModifiers(Modifier.PUBLIC)
+                    .returns(self)
+                    .addStatement("$T ctx = context", LOG_CONTEXT);
+
+            // key-value pairs
+            for (int c = 1; c <= i; c++) {
+                with
+                        .addParameter(String.class, "key" + c)
+                        .addParameter(Object.class, "value" + c)
+                        .addStatement("ctx = ctx.with(key$1L, value$1L)", c);
+            }
+
+            logger.addMethod(
+                    with
+                            .addStatement("return new $T($L)", loggerClassName, copy(slots, LEVELS_FIELD, "ctx", null))
+                            .build()
+            );
+        }
+
+        logger.addMethod(
+                MethodSpec.methodBuilder("with")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(self)
+                        .addParameter(String.class, "key")
+                        .addParameter(ParameterizedTypeName.get(ClassName.get(Supplier.class), WildcardTypeName.subtypeOf(Object.class)), "value")
+                        .addStatement("return new $T($L)", loggerClassName, copy(slots, LEVELS_FIELD, "context.with(key, value)", null))
+                        .build()
+        );
+
+        for (TypeName primitive : PRIMITIVES) {
+            logger.addMethod(
+                    MethodSpec.methodBuilder("with")
+                            .addAnnotation(Override.class)
+                            .addModifiers(Modifier.PUBLIC)
+                            .returns(self)
+                            .addParameter(String.class, "key")
+                            .addParameter(primitive, "value")
+                            .addStatement("return new $T($L)", loggerClassName, copy(slots, LEVELS_FIELD, "context.with(key, value)", null))
+                            .build()
+            );
+        }
+
+        logger.addMethod(
+                MethodSpec.methodBuilder("with")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(self)
+                        .addParameter(LOG_CONTEXT, "other")
+                        .addStatement("return new $T($L)", loggerClassName, copy(slots, LEVELS_FIELD, "context.with(other)", null))
+                        .build()
+        );
+
+        logger.addMethod(
+                MethodSpec.methodBuilder("with")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(self)
+                        .addParameter(CONTEXT_FRAGMENT, "fragment")
+                        .addStatement("return new $T($L)", loggerClassName, copy(slots, LEVELS_FIELD, "context.with(fragment)", null))
+                        .build()
+        );
+
+        logger.addMethod(
+                MethodSpec.methodBuilder("with")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(self)
+                        .addParameter(ParameterizedTypeName.get(ClassName.get(Map.class), ClassName.get(String.class), WildcardTypeName.subtypeOf(Object.class)), "values")
+                        .addStatement("return new $T($L)", loggerClassName, copy(slots, LEVELS_FIELD, "context.with(values)", null))
+                        .build()
+        );
+
+        // a redeclaration returning the typed interface is implemented, a default method is kept
+        boolean abstractEvent = ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(element))
+                .stream()
+                .anyMatch(it -> it.getSimpleName().contentEquals("event") && it.getParameters().size() == 1 && it.getModifiers().contains(Modifier.ABSTRACT));
+        if (abstractEvent) {
+            logger.addMethod(
+                    MethodSpec.methodBuilder("event")
+                            .addAnnotation(Override.class)
+                            .addModifiers(Modifier.PUBLIC)
+                            .returns(self)
+                            .addParameter(String.class, "event")
+                            .addStatement("return with($S, event)", "event")
+                            .build()
+            );
+        }
+
+        logger.addMethod(
+                MethodSpec.methodBuilder("cachingLevels")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(self)
+                        .addStatement("return new $T($L)", loggerClassName, copy(slots, CodeBlock.of("$T.of(logger)", CACHED_LEVEL), "context", null))
+                        .build()
+        );
+
+        // typed setters and the context they add up to
+        if (slots.isEmpty()) {
+            logger.addMethod(
+                    MethodSpec.methodBuilder("context")
+                            .addAnnotation(Override.class)
+                            .addModifiers(Modifier.PUBLIC)
+                            .returns(LOG_CONTEXT)
+                            .addStatement("return context")
+                            .build()
+            );
+        } else {
+            for (Slot slot : slots) {
+                logger.addMethod(
+                        MethodSpec.overriding(slot.method)
+                                .addStatement("return new $T($L)", loggerClassName, copy(slots, LEVELS_FIELD, "context", slot))
+                                .build()
+                );
+            }
+
+            MethodSpec.Builder effective = MethodSpec.methodBuilder("context")
+                    .addAnnotation(Override.class)
+                    .addModifiers(Modifier.PUBLIC)
+                    .returns(LOG_CONTEXT)
+                    .addStatement("$T ctx = effective", LOG_CONTEXT)
+                    .beginControlFlow("if (ctx == null)")
+                    .addStatement("ctx = context");
+            for (Slot slot : slots) {
+                effective
+                        .beginControlFlow("if ((slots & $LL) != 0)", slot.bit())
+                        .addStatement("ctx = ctx.with($L, $L)", slot.constant(), slot.name)
+                        .endControlFlow();
+            }
+            logger.addMethod(
+                    effective
+                            .addStatement("effective = ctx")
+                            .endControlFlow()
+                            .addStatement("return ctx")
+                            .build()
+            );
+        }
+
+        // delegation
+        processingEnv.getElementUtils().getAllMembers(element)
+                .stream()
+                .filter(it -> it.getKind() == ElementKind.METHOD)
+                .filter(it -> !it.getModifiers().contains(Modifier.STATIC))
+                .filter(it -> !it.getModifiers().contains(Modifier.FINAL))
+                .filter(it -> !it.getModifiers().contains(Modifier.NATIVE))
+                .filter(it -> DELEGATED.contains(((TypeElement) it.getEnclosingElement()).getQualifiedName().toString()))
+                .map(ExecutableElement.class::cast)
+                .map(it -> {
+                    MethodSpec.Builder overriding = MethodSpec.overriding(it);
+
+                    String args = it.getParameters().stream().map(VariableElement::getSimpleName).collect(joining(", "));
+
+                    if (it.getReturnType().getKind() != TypeKind.VOID) {
+                        if (isLevelCheck(it)) {
+                            // overrides are only asked about levels the delegate rejects
+                            overriding.addStatement("return $L || $T.isEnabled($T.$L, this)", delegateLevelCheck(it), LEVEL_OVERRIDES, org.slf4j.event.Level.class, checkedLevel(it));
+                        } else {
+                            overriding.addStatement("return logger.$L($L)", it.getSimpleName(), args);
+                        }
+                    } else if (LEVELS.contains(it.getSimpleName().toString())) {
+                        CodeBlock level = CodeBlock.of("$T.$L", org.slf4j.event.Level.class, it.getSimpleName().toString().toUpperCase(Locale.ROOT));
+
+                        // marker overloads have to ask with the marker, e.g. for turbo filters
+                        String marker = it.getParameters().isEmpty() || !isMarker(it.getParameters().get(0))
+                                ? ""
+                                : it.getParameters().get(0).getSimpleName().toString();
+                        overriding
+                                .addStatement("$T metrics = $T.current()", LOG_METRICS, LOG_METRICS)
+                                .addStatement("$T emitter = this.emitter", EMITTER)
+                                .addStatement("boolean decided = false")
+                                .beginControlFlow("if (!$L)", delegateLevelCheck(capitalizeName(it), marker))
+                                .beginControlFlow("if (!$T.isEnabled($L, this))", LEVEL_OVERRIDES, level)
+                                .addCode("if (metrics != null) { metrics.suppressed($L, $L); }\n", level, context)
+                                .addStatement("return")
+                                .endControlFlow()
+                                // the delegate would drop the event on its own level check, the emitters must not ask it
+                                .addStatement("decided = true")
+                                .addCode("if (emitter == null) { emitter = $T.emitter(); }\n", LEVEL_OVERRIDES)
+                                .endControlFlow()
+                                .addStatement("boolean timed = metrics != null && metrics.emitted($L, $L)", level, context)
+                                .addStatement("long start = timed ? System.nanoTime() : 0L");
+
+                        // alternative backend, the MDC is not involved at all
+                        overriding
+                                .beginControlFlow("if (emitter != null)")
+                                .addStatement(emitCall(it, context))
+                                .addCode("if (timed) { metrics.timed(0L, System.nanoTime() - start); }\n")
+                                .addStatement("return")
+                                .endControlFlow();
+
+                        // snapshot, install and restore of the MDC, values of outer scopes are kept
+                        overriding
+                                .addStatement("$T previous = $T.install($L)", ParameterizedTypeName.get(Map.class, String.class, String.class), MDC_SUPPORT, context)
+                                .addStatement("long called = timed ? System.nanoTime() : 0L")
+                                .beginControlFlow("try")
+                                .addStatement("logger.$L($L)", it.getSimpleName(), args)
+                                .nextControlFlow("finally")
+                                .addStatement("long returned = timed ? System.nanoTime() : 0L")
+                                .addStatement("$T.restore(previous)", MDC_SUPPORT)
+                                .addCode("if (timed) { metrics.timed(called - start + System.nanoTime() - returned, returned - called); }\n")
+                                .endControlFlow();
+                    } else {
+                        overriding.addStatement("logger.$L($L)", it.getSimpleName(), args);
+                    }
+
+                    return overriding.build();
+                })
+                .forEach(logger::addMethod);
+
+        return logger.build();
+    }
+
+    /**
+     * Constructor arguments for a copy of the current logger.
+     *
+     * @param changed slot which is set to the parameter of the typed setter, if any
+     */
+    private static CodeBlock copy(List<Slot> slots, CodeBlock levels, String context, Slot changed) {
+        CodeBlock.Builder args = CodeBlock.builder().add("logger, emitter, $L, $L", levels, context);
+
+        if (!slots.isEmpty()) {
+            // fields are qualified, parameters of the setter may shadow them
+            args.add(changed == null ? ", this.slots" : format(", this.slots | %dL", changed.bit()));
+            for (Slot slot : slots) {
+                args.add(", $L", slot == changed ? slot.method.getParameters().get(0).getSimpleName() : "this." + slot.name);
+            }
+        }
+
+        return args.build();
+    }
+
+    private boolean isContextLogger(TypeElement element) {
+        TypeMirror contextLogger = processingEnv.getElementUtils().getTypeElement(CONTEXT_LOGGER.toString()).asType();
+        return processingEnv.getTypeUtils().isAssignable(processingEnv.getTypeUtils().erasure(element.asType()), contextLogger);
+    }
+
+    private boolean isTyped(TypeElement element) {
+        return !element.getQualifiedName().contentEquals(CONTEXT_LOGGER.toString()) && isContextLogger(element);
+    }
+
+    /**
+     * {@code MDCLogger} for the base interface, {@code MDC} and the names of the interface and the types
+     * it is nested in otherwise, e.g. {@code MDCOrders_AuditLogger} for {@code Orders.AuditLogger}.
+     */
+    private static String implementationName(TypeElement element) {
+        if (element.getQualifiedName().contentEquals(CONTEXT_LOGGER.toString())) {
+            return "MDCLogger";
+        }
+
+        List<String> names = new ArrayList<>();
+        for (Element it = element; it instanceof TypeElement; it = it.getEnclosingElement()) {
+            names.add(0, it.getSimpleName().toString());
+        }
+        return "MDC" + String.join("_", names);
+    }
+
+    /**
+     * Abstract methods of a typed interface, each one takes a single value and returns the interface.
+     */
+    private List<Slot> slots(TypeElement element) {
+        Elements elements = processingEnv.getElementUtils();
+        List<ExecutableElement> contextLoggerMethods = ElementFilter.methodsIn(elements.getTypeElement(CONTEXT_LOGGER.toString()).getEnclosedElements());
+
+        // covariant redeclarations of ContextLogger methods are generated like the originals
+        List<ExecutableElement> methods = ElementFilter.methodsIn(elements.getAllMembers(element))
+                .stream()
+                .filter(it -> it.getModifiers().contains(Modifier.ABSTRACT))
+                .filter(it -> !isDeclaredBy(it, CONTEXT_LOGGER.toString()) && !DELEGATED.contains(declaringType(it)))
+                .filter(it -> contextLoggerMethods.stream().noneMatch(base -> elements.overrides(it, base, element)))
+                .collect(toList());
+
+        List<Slot> slots = new ArrayList<>();
+        for (ExecutableElement method : methods) {
+            if (method.getParameters().size() != 1 || !processingEnv.getTypeUtils().isAssignable(element.asType(), method.getReturnType())) {
+                error(method, "Typed context methods must take exactly one value and return %s", element.getSimpleName());
+                continue;
+            }
+            if (RESERVED.contains(method.getSimpleName().toString())) {
+                error(method, "Typed context methods can't be named %s", RESERVED);
+                continue;
+            }
+
+            Slot slot = new Slot(method, slots.size());
+            if (slot.key.isEmpty()) {
+                error(method, "@ContextKey of %s can't be empty", slot.name);
+                continue;
+            }
+            Slot clash = slots.stream().filter(it -> it.constant().equals(slot.constant()) || it.key.equals(slot.key)).findFirst().orElse(null);
+            if (clash != null) {
+                // one field, one key constant and one key per name
+                if (clash.name.equals(slot.name)) {
+                    error(method, "Typed context methods can't be overloaded, %s is declared more than once", slot.name);
+                } else if (clash.constant().equals(slot.constant())) {
+                    error(method, "Typed context methods %s and %s would share the constant %s", clash.name, slot.name, slot.constant());
+                } else {
+                    error(method, "Typed context methods %s and %s would both be logged as %s", clash.name, slot.name, slot.key);
+                }
+                continue;
+            }
+            slots.add(slot);
+        }
+
+        if (slots.size() > Long.SIZE) {
+            error(element, "At most %d typed context methods are supported, found %d", Long.SIZE, slots.size());
+            return slots.subList(0, Long.SIZE);
+        }
+
+        return slots;
+    }
+
+    /**
+     * Typed methods can only follow {@code with(key, value)} and {@code event(name)} in a chain if the
+     * interface redeclares them returning itself, the generated class can't change what callers see.
+     */
+    private void checkChaining(TypeElement element) {
+        Elements elements = processingEnv.getElementUtils();
+        List<ExecutableElement> members = ElementFilter.methodsIn(elements.getAllMembers(element));
+
+        for (ExecutableElement base : ElementFilter.methodsIn(elements.getTypeElement(CONTEXT_LOGGER.toString()).getEnclosedElements())) {
+            if (!CHAINED.contains(signature(base))) {
+                continue;
+            }
+            boolean redeclared = members.stream()
+                    .filter(it -> !isDeclaredBy(it, CONTEXT_LOGGER.toString()))
+                    .filter(it -> it.getSimpleName().equals(base.getSimpleName()) && elements.overrides(it, base, element))
+                    .anyMatch(it -> processingEnv.getTypeUtils().isAssignable(it.getReturnType(), element.asType()));
+            if (!redeclared) {
+                error(element, "%s must redeclare %s returning %s, typed methods can't be chained after it otherwise",
+                        element.getSimpleName(), signature(base), element.getSimpleName());
+            }
+        }
+    }
+
+    private String signature(ExecutableElement method) {
+        return method.getSimpleName() + method.getParameters()
+                .stream()
+                .map(it -> processingEnv.getTypeUtils().erasure(it.asType()).toString().replace("java.lang.", ""))
+                .collect(joining(", ", "(", ")"));
+    }
+
+    private static boolean isDeclaredBy(Element method, String type) {
+        return declaringType(method).equals(type);
+    }
+
+    private static String declaringType(Element method) {
+        return ((TypeElement) method.getEnclosingElement()).getQualifiedName().toString();
+    }
+
+    private void error(Element element, String message, Object... args) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, format(message, args), element);
+    }
+
+    private static String defaultValue(TypeName type) {
+        if (!type.isPrimitive()) {
+            return "null";
+        }
+        return type.equals(TypeName.BOOLEAN) ? "false" : "(" + type + ") 0";
+    }
+
+    /**
+     * Maps parameters of a logging method onto {@code Emitter.emit(logger, level, marker, message, arguments, throwable, context, decided)}.
+     */
+    private static CodeBlock emitCall(ExecutableElement it, String context) {
+        String marker = "null";
+        String message = "null";
+        String throwable = "null";
+        List<String> arguments = new ArrayList<>();
+        String varargs = null;
+
+        for (VariableElement parameter : it.getParameters()) {
+            String name = parameter.getSimpleName().toString();
+            String type = parameter.asType().toString();
+
+            if (isMarker(parameter)) {
+                marker = name;
+            } else if (type.equals(String.class.getName()) && message.equals("null")) {
+                message = name;
+            } else if (type.equals(Throwable.class.getName())) {
+                throwable = name;
+            } else if (parameter.asType().getKind() == TypeKind.ARRAY) {
+                varargs = name;
+            } else {
+                arguments.add(name);
+            }
+        }
+
+        String args = varargs != null ? varargs : arguments.isEmpty() ? "null" : "new Object[]{" + String.join(", ", arguments) + "}";
+
+        return CodeBlock.of(
+                "emitter.emit(logger, $T.$L, $L, $L, $L, $L, $L, decided)",
+                org.slf4j.event.Level.class, it.getSimpleName().toString().toUpperCase(Locale.ROOT), marker, message, args, throwable, context
+        );
+    }
+
+    private static boolean isMarker(VariableElement parameter) {
+        return parameter.asType().toString().equals(Marker.class.getName());
+    }
+
+    /**
+     * {@code isInfoEnabled()} and friends, with or without a marker.
+     */
+    private static boolean isLevelCheck(ExecutableElement it) {
+        String name = it.getSimpleName().toString();
+        return it.getParameters().size() <= 1
+                && name.startsWith("is")
+                && name.endsWith("Enabled")
+                && LEVELS.contains(name.substring(2, name.length() - "Enabled".length()).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Level of {@code isInfoEnabled()} and friends, e.g. {@code INFO}.
+     */
+    private static String checkedLevel(ExecutableElement it) {
+        String name = it.getSimpleName().toString();
+        return name.substring(2, name.length() - "Enabled".length()).toUpperCase(Locale.ROOT);
+    }
+
+    private static CodeBlock delegateLevelCheck(ExecutableElement it) {
+        String name = it.getSimpleName().toString();
+        String marker = it.getParameters().isEmpty() ? "" : it.getParameters().get(0).getSimpleName().toString();
+        return delegateLevelCheck(name.substring(2, name.length() - "Enabled".length()), marker);
+    }
+
+    /**
+     * Level check of the delegate, from the cache if there is one. Marker overloads always ask the
+     * delegate, e.g. for turbo filters.
+     */
+    private static CodeBlock delegateLevelCheck(String level, String marker) {
+        return marker.isEmpty()
+                ? CodeBlock.of("(levels != null ? levels.is$1LEnabled() : logger.is$1LEnabled())", level)
+                : CodeBlock.of("logger.is$LEnabled($L)", level, marker);
+    }
+
     private static String capitalizeName(ExecutableElement it) {
         return String.valueOf(it.getSimpleName().charAt(0)).toUpperCase() + it.getSimpleName().toString().substring(1);
     }
@@ -199,6 +683,43 @@ public class ContextLoggerImplementationGenerator extends AbstractProcessor {
         };
     }
 
+    /**
+     * Single value of a typed context logger, stored in a field of its own under a precomputed key.
+     * The key is taken from {@link ContextKey} or is the snake_case method name, e.g. {@code user_id} for {@code userId},
+     * so that typed values match level overrides and {@code with(...)} calls using the usual key style.
+     */
+    private static final class Slot {
+        private final ExecutableElement method;
+        private final String name;
+        private final String key;
+        private final TypeName type;
+        private final int index;
+
+        private Slot(ExecutableElement method, int index) {
+            this.method = method;
+            this.name = method.getSimpleName().toString();
+            ContextKey annotation = method.getAnnotation(ContextKey.class);
+            this.key = annotation != null ? annotation.value() : snakeCase(name).toLowerCase(Locale.ROOT);
+            this.type = TypeName.get(method.getParameters().get(0).asType());
+            this.index = index;
+        }
+
+        private long bit() {
+            return 1L << index;
+        }
+
+        /**
+         * Name of the constant holding the key, e.g. {@code USER_ID_KEY} for {@code userId}.
+         */
+        private String constant() {
+            return snakeCase(name).toUpperCase(Locale.ROOT) + "_KEY";
+        }
+
+        private static String snakeCase(String name) {
+            return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2");
+        }
+    }
+
     public static class ProcessingException extends RuntimeException {
         public ProcessingException(String message, Exception cause) {
             super(message, cause);
@@ -0,0 +1,15 @@
+package io.vivy.logger.generator.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Key a typed context method logs its value under, {@code userId} is logged as {@code user_id} when absent.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target({ElementType.METHOD})
+public @interface ContextKey {
+    String value();
+}
@@ -0,0 +1,132 @@
+package io.vivy.logger.generator;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContextLoggerImplementationGeneratorTest {
+
+    @TempDir
+    Path output;
+
+    @Test
+    void shouldGenerateTypedLogger() throws IOException {
+        val errors = compile("Orders",
+                "package test;",
+                "public final class Orders {",
+                "    @io.vivy.logger.generator.annotations.GenerateContextLogger",
+                "    public interface OrderLogger extends io.vivy.logger.ContextLogger {",
+                "        static OrderLogger of(org.slf4j.Logger logger) { return new MDCOrders_OrderLogger(logger); }",
+                "        OrderLogger orderId(long orderId);",
+                "        OrderLogger userId(String userId);",
+                "        @Override OrderLogger with(String key, Object value);",
+                "        @Override OrderLogger event(String event);",
+                "    }",
+                "    static OrderLogger chained(org.slf4j.Logger logger) {",
+                "        return OrderLogger.of(logger).event(\"order_created\").userId(\"42\").with(\"tenant\", \"shire\").orderId(1L);",
+                "    }",
+                "}");
+
+        assertThat(errors).isEmpty();
+        assertThat(output.resolve("test/MDCOrders_OrderLogger.class")).exists();
+    }
+
+    @Test
+    void shouldRequireChainableRedeclarations() throws IOException {
+        val errors = compile("UserLogger",
+                "package test;",
+                "@io.vivy.logger.generator.annotations.GenerateContextLogger",
+                "public interface UserLogger extends io.vivy.logger.ContextLogger {",
+                "    UserLogger userId(long userId);",
+                "    @Override UserLogger with(String key, Object value);",
+                "}");
+
+        assertThat(errors).containsExactly("UserLogger must redeclare event(String) returning UserLogger, typed methods can't be chained after it otherwise");
+    }
+
+    @Test
+    void shouldRejectOverloadedMethods() throws IOException {
+        val errors = compile("UserLogger",
+                "package test;",
+                "@io.vivy.logger.generator.annotations.GenerateContextLogger",
+                "public interface UserLogger extends io.vivy.logger.ContextLogger {",
+                "    UserLogger userId(long userId);",
+                "    UserLogger userId(String userId);",
+                "}");
+
+        assertThat(errors).contains("Typed context methods can't be overloaded, userId is declared more than once");
+    }
+
+    @Test
+    void shouldRejectMethodsWithTheSameKeyConstant() throws IOException {
+        val errors = compile("UserLogger",
+                "package test;",
+                "@io.vivy.logger.generator.annotations.GenerateContextLogger",
+                "public interface UserLogger extends io.vivy.logger.ContextLogger {",
+                "    UserLogger userId(long userId);",
+                "    UserLogger userID(long userId);",
+                "}");
+
+        assertThat(errors).contains("Typed context methods userId and userID would share the constant USER_ID_KEY");
+    }
+
+    @Test
+    void shouldRejectMethodsWithTheSameKey() throws IOException {
+        val errors = compile("UserLogger",
+                "package test;",
+                "@io.vivy.logger.generator.annotations.GenerateContextLogger",
+                "public interface UserLogger extends io.vivy.logger.ContextLogger {",
+                "    UserLogger userId(long userId);",
+                "    @io.vivy.logger.generator.annotations.ContextKey(\"user_id\")",
+                "    UserLogger user(long userId);",
+                "}");
+
+        assertThat(errors).contains("Typed context methods userId and user would both be logged as user_id");
+    }
+
+    /**
+     * @return messages of the errors reported while compiling the source with the generator
+     */
+    private List<String> compile(String name, String... lines) throws IOException {
+        val compiler = ToolProvider.getSystemJavaCompiler();
+        val diagnostics = new DiagnosticCollector<JavaFileObject>();
+        val files = compiler.getStandardFileManager(diagnostics, Locale.ROOT, null);
+        files.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singletonList(output.toFile()));
+        files.setLocation(StandardLocation.SOURCE_OUTPUT, Collections.singletonList(output.toFile()));
+
+        val source = new SimpleJavaFileObject(URI.create("string:///test/" + name + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return String.join("\n", lines);
+            }
+        };
+
+        val task = compiler.getTask(null, files, diagnostics, Arrays.asList("-classpath", System.getProperty("java.class.path")), null, Collections.singletonList(source));
+        task.setProcessors(Collections.singletonList(new ContextLoggerImplementationGenerator()));
+        task.call();
+        files.close();
+
+        return diagnostics.getDiagnostics()
+                .stream()
+                .filter(it -> it.getKind() == Diagnostic.Kind.ERROR)
+                .map(it -> it.getMessage(Locale.ROOT))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,128 @@
+package io.vivy.logger.logback;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Growable byte buffer for records of the binary log format, see {@link BinaryLogAppender}.
+ */
+final class BinaryBuffer {
+
+    /**
+     * Length and CRC32 of the payload of a frame, both as big-endian ints.
+     */
+    static final int FRAME_HEADER = 8;
+
+    private byte[] bytes;
+    private int size;
+
+    BinaryBuffer(int capacity) {
+        this.bytes = new byte[capacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return bytes.length;
+    }
+
+    /**
+     * Empties the buffer, leaving room for the header of a frame.
+     */
+    void startFrame() {
+        size = 0;
+        ensure(FRAME_HEADER);
+        size = FRAME_HEADER;
+    }
+
+    /**
+     * Fills in the header for everything appended since {@link #startFrame()}.
+     */
+    void finishFrame(CRC32 crc) {
+        int length = size - FRAME_HEADER;
+        crc.reset();
+        crc.update(bytes, FRAME_HEADER, length);
+        putInt(0, length);
+        putInt(4, (int) crc.getValue());
+    }
+
+    void writeTo(ByteBuffer target) {
+        target.put(bytes, 0, size);
+    }
+
+    BinaryBuffer append(byte b) {
+        ensure(1);
+        bytes[size++] = b;
+        return this;
+    }
+
+    BinaryBuffer append(byte[] source) {
+        ensure(source.length);
+        System.arraycopy(source, 0, bytes, size, source.length);
+        size += source.length;
+        return this;
+    }
+
+    /**
+     * Unsigned LEB128, 7 bits per byte, least significant first.
+     */
+    BinaryBuffer appendVarint(long value) {
+        ensure(10);
+        while ((value & ~0x7fL) != 0) {
+            bytes[size++] = (byte) (value & 0x7f | 0x80);
+            value >>>= 7;
+        }
+        bytes[size++] = (byte) value;
+        return this;
+    }
+
+    /**
+     * Zig-zag encoded varint, small negative numbers take as few bytes as small positive ones.
+     */
+    BinaryBuffer appendSigned(long value) {
+        return appendVarint(value << 1 ^ value >> 63);
+    }
+
+    /**
+     * Number of chars plus one ({@code 0} for {@code null}) followed by the chars in modified UTF-8:
+     * 1 to 3 bytes per char, surrogates are encoded one by one.
+     */
+    BinaryBuffer appendString(String value) {
+        if (value == null) {
+            return appendVarint(0);
+        }
+
+        appendVarint(value.length() + 1L);
+        ensure(value.length() * 3);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                bytes[size++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[size++] = (byte) (0xc0 | c >> 6);
+                bytes[size++] = (byte) (0x80 | c & 0x3f);
+            } else {
+                bytes[size++] = (byte) (0xe0 | c >> 12);
+                bytes[size++] = (byte) (0x80 | c >> 6 & 0x3f);
+                bytes[size++] = (byte) (0x80 | c & 0x3f);
+            }
+        }
+        return this;
+    }
+
+    private void putInt(int index, int value) {
+        bytes[index] = (byte) (value >>> 24);
+        bytes[index + 1] = (byte) (value >>> 16);
+        bytes[index + 2] = (byte) (value >>> 8);
+        bytes[index + 3] = (byte) value;
+    }
+
+    private void ensure(int additional) {
+        if (size + additional > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + additional));
+        }
+    }
+}
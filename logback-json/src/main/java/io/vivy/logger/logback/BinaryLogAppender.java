@@ -0,0 +1,358 @@
+package io.vivy.logger.logback;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Appends events to a memory-mapped file in a compact binary format, read back by
+ * {@link BinaryLogReader}.
+ * <p>
+ * Logger and thread names, context keys and the values of {@link #setDictionaryKeys dictionary
+ * keys} ({@code event} by default) are written once and referenced by number afterwards. Context
+ * values which are integers are written as varints, timestamps as the difference to the previous
+ * event. Everything of an event is encoded into a buffer and copied into the mapping at once, there
+ * is no system call per event.
+ * <p>
+ * The file starts with {@code VLOG} and a version byte, followed by one frame per event: the
+ * length and CRC32 of its payload as big-endian ints and the payload, which holds records starting
+ * with a tag:
+ * <ul>
+ * <li>{@code 1}, a dictionary entry: a string, numbered from {@code 0} in the order of appearance</li>
+ * <li>{@code 2}, the event: signed timestamp delta, level, logger, thread, message, number of
+ * context entries, each a key and a typed value, and the stack trace</li>
+ * </ul>
+ * Strings are referenced by their dictionary number plus one, {@code 0} is followed by the string
+ * itself, see {@link BinaryBuffer#appendString}. Entries of the dictionary go into the frame of the
+ * event which uses them first, so they are written or lost together.
+ * <p>
+ * A frame of length {@code 0}, the mapping is zero filled beyond the last event, a frame which is
+ * cut off or fails its checksum, or the end of the file ends the log. An existing file is appended
+ * to after its last complete event, anything behind it is dropped. On stop the zero filled rest is
+ * cut off, except where a file can't be truncated while a mapping of it is still alive, e.g. on
+ * Windows, then it is dropped on the next start.
+ *
+ * <pre>{@code
+ * <appender name="BINARY" class="io.vivy.logger.logback.BinaryLogAppender">
+ *     <file>logs/app.vlog</file>
+ * </appender>
+ * }</pre>
+ */
+public class BinaryLogAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+    static final byte[] MAGIC = {'V', 'L', 'O', 'G'};
+    static final byte VERSION = 2;
+
+    static final byte DICTIONARY = 1;
+    static final byte EVENT = 2;
+
+    static final byte TEXT = 0;
+    static final byte NUMBER = 1;
+    static final byte WORD = 2;
+
+    /**
+     * Beyond this many entries strings are written in place.
+     */
+    static final int MAX_DICTIONARY = 1 << 16;
+
+    private static final int RETAINED_CAPACITY = 64 * 1024;
+
+    private final ReentrantLock lock = new ReentrantLock(false);
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final Map<String, Integer> pendingWords = new HashMap<>();
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * Numbers of the context keys and values of the event being encoded, guarded by the lock.
+     */
+    private int[] keys = new int[16];
+    private int[] values = new int[16];
+
+    private String file;
+    private long chunkSize = 64L * 1024 * 1024;
+    private Set<String> dictionaryKeys = new HashSet<>(Arrays.asList("event"));
+
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+    private long mappedStart;
+    private long previousTimestamp;
+    private BinaryBuffer buffer = new BinaryBuffer(1024);
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    /**
+     * Size of each mapped region of the file, 64 MB by default.
+     */
+    public void setChunkSize(long chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Comma separated context keys with few distinct values, which are written to the dictionary.
+     */
+    public void setDictionaryKeys(String keys) {
+        Set<String> parsed = new HashSet<>();
+        for (String key : keys.split(",")) {
+            if (!key.trim().isEmpty()) {
+                parsed.add(key.trim());
+            }
+        }
+        this.dictionaryKeys = parsed;
+    }
+
+    @Override
+    public void start() {
+        if (file == null) {
+            addError("No file set for the appender named [" + name + "]");
+            return;
+        }
+        if (chunkSize < 1024) {
+            addError("Chunk size must be at least 1 KB, was " + chunkSize);
+            return;
+        }
+
+        Path path = Paths.get(file);
+        try {
+            if (path.getParent() != null) {
+                path.getParent().toFile().mkdirs();
+            }
+
+            long end = 0;
+            if (path.toFile().length() > 0) {
+                // continue after the last complete event, with the dictionary written so far
+                try (BinaryLogReader reader = BinaryLogReader.open(path)) {
+                    while (reader.next() != null) {
+                        // only the last one is of interest
+                    }
+                    previousTimestamp = reader.timestamp();
+                    for (String word : reader.dictionary()) {
+                        dictionary.put(word, dictionary.size());
+                    }
+                    end = reader.position();
+                }
+            }
+
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            // whatever follows the last complete event must not be read as part of the log later
+            channel.truncate(end);
+            map(end, chunkSize);
+            if (end == 0) {
+                mapped.put(MAGIC).put(VERSION);
+            }
+        } catch (IOException e) {
+            addError("Can't open " + file, e);
+            closeQuietly();
+            return;
+        }
+
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        lock.lock();
+        try {
+            if (channel != null) {
+                mapped.force();
+                long end = mappedStart + mapped.position();
+                closeQuietly();
+                truncate(end);
+            }
+        } finally {
+            closeQuietly();
+            lock.unlock();
+        }
+        super.stop();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        lock.lock();
+        try {
+            if (channel == null) {
+                return;
+            }
+
+            BinaryBuffer buffer = this.buffer;
+            buffer.startFrame();
+            encode(event, buffer);
+            buffer.finishFrame(crc);
+
+            if (mapped.remaining() < buffer.size()) {
+                map(mappedStart + mapped.position(), Math.max(chunkSize, buffer.size()));
+            }
+            buffer.writeTo(mapped);
+
+            // the words are part of the file only now
+            dictionary.putAll(pendingWords);
+            previousTimestamp = event.getTimeStamp();
+
+            // a single huge event must not keep its buffer around
+            if (buffer.capacity() > RETAINED_CAPACITY) {
+                this.buffer = new BinaryBuffer(1024);
+            }
+        } catch (IOException e) {
+            addError("Can't write to " + file, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void encode(ILoggingEvent event, BinaryBuffer buffer) {
+        pendingWords.clear();
+        // dictionary entries go first, so they are complete before the event which refers to them
+        int logger = word(event.getLoggerName(), buffer);
+        int thread = word(event.getThreadName(), buffer);
+
+        Map<String, String> context = event.getMDCPropertyMap();
+        int entries = context == null ? 0 : context.size();
+        if (entries > keys.length) {
+            keys = new int[Math.max(entries, keys.length * 2)];
+            values = new int[keys.length];
+        }
+        int[] keys = this.keys;
+        int[] values = this.values;
+        if (entries > 0) {
+            int i = 0;
+            for (Map.Entry<String, String> entry : context.entrySet()) {
+                keys[i] = word(entry.getKey(), buffer);
+                values[i] = dictionaryKeys.contains(entry.getKey()) && entry.getValue() != null ? word(entry.getValue(), buffer) : -1;
+                i++;
+            }
+        }
+
+        long timestamp = event.getTimeStamp();
+        buffer.append(EVENT)
+                .appendSigned(timestamp - previousTimestamp)
+                .append((byte) Level.toLocationAwareLoggerInteger(event.getLevel()));
+
+        reference(logger, event.getLoggerName(), buffer);
+        reference(thread, event.getThreadName(), buffer);
+        buffer.appendString(event.getFormattedMessage());
+
+        buffer.appendVarint(entries);
+        if (entries > 0) {
+            int i = 0;
+            for (Map.Entry<String, String> entry : context.entrySet()) {
+                reference(keys[i], entry.getKey(), buffer);
+                value(values[i], entry.getValue(), buffer);
+                i++;
+            }
+        }
+
+        IThrowableProxy throwable = event.getThrowableProxy();
+        buffer.appendString(throwable == null ? null : ThrowableProxyUtil.asString(throwable));
+    }
+
+    /**
+     * @return number of the word, written to the frame if new, or {@code -1} if the dictionary is full
+     */
+    private int word(String value, BinaryBuffer buffer) {
+        Integer id = dictionary.get(value);
+        if (id == null) {
+            id = pendingWords.get(value);
+        }
+        if (id != null) {
+            return id;
+        }
+        if (value == null || dictionary.size() + pendingWords.size() >= MAX_DICTIONARY) {
+            return -1;
+        }
+
+        id = dictionary.size() + pendingWords.size();
+        pendingWords.put(value, id);
+        buffer.append(DICTIONARY).appendString(value);
+        return id;
+    }
+
+    private static void reference(int id, String value, BinaryBuffer buffer) {
+        if (id < 0) {
+            buffer.appendVarint(0).appendString(value);
+        } else {
+            buffer.appendVarint(id + 1L);
+        }
+    }
+
+    private static void value(int id, String value, BinaryBuffer buffer) {
+        if (id >= 0) {
+            buffer.append(WORD).appendVarint(id);
+        } else if (isNumber(value)) {
+            buffer.append(NUMBER).appendSigned(Long.parseLong(value));
+        } else {
+            buffer.append(TEXT).appendString(value);
+        }
+    }
+
+    /**
+     * Integers which {@link Long#toString} renders the same, so they read back unchanged.
+     */
+    static boolean isNumber(String value) {
+        if (value == null || value.isEmpty() || value.length() > 18) {
+            return false;
+        }
+
+        int start = value.charAt(0) == '-' ? 1 : 0;
+        if (start == value.length() || value.charAt(start) == '0' && (value.length() > start + 1 || start == 1)) {
+            return false;
+        }
+        for (int i = start; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Drops the zero filled rest of the mapping through a handle of its own, as the channel is closed already.
+     * The mapping itself is only released by the garbage collector, which some platforms insist on.
+     */
+    private void truncate(long end) {
+        try (RandomAccessFile handle = new RandomAccessFile(file, "rw")) {
+            handle.setLength(end);
+        } catch (IOException e) {
+            addWarn("Can't truncate " + file + " while it is mapped, its zero filled rest is dropped on the next start", e);
+        }
+    }
+
+    private void map(long position, long size) throws IOException {
+        mappedStart = position;
+        mapped = channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+    }
+
+    private void closeQuietly() {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            addWarn("Can't close " + file, e);
+        }
+        channel = null;
+        mapped = null;
+    }
+}
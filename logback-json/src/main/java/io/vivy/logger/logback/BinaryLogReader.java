@@ -0,0 +1,405 @@
+package io.vivy.logger.logback;
+
+import ch.qos.logback.classic.Level;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import static io.vivy.logger.logback.BinaryBuffer.FRAME_HEADER;
+import static io.vivy.logger.logback.BinaryLogAppender.DICTIONARY;
+import static io.vivy.logger.logback.BinaryLogAppender.EVENT;
+import static io.vivy.logger.logback.BinaryLogAppender.MAGIC;
+import static io.vivy.logger.logback.BinaryLogAppender.NUMBER;
+import static io.vivy.logger.logback.BinaryLogAppender.TEXT;
+import static io.vivy.logger.logback.BinaryLogAppender.VERSION;
+import static io.vivy.logger.logback.BinaryLogAppender.WORD;
+
+/**
+ * Streams the events of a file written by {@link BinaryLogAppender}, one at a time, and writes them
+ * out as the lines {@link JsonEncoder} would have written.
+ * <p>
+ * The file may still be written to, reading stops after the last complete event. A frame which is
+ * cut off, fails its checksum or can't be read ends the log as well.
+ *
+ * <pre>{@code
+ * java -cp ... io.vivy.logger.logback.BinaryLogReader logs/app.vlog > app.json
+ * }</pre>
+ */
+public final class BinaryLogReader implements Closeable {
+
+    private static final byte[] TIMESTAMP = ascii("{\"timestamp\":");
+    private static final byte[] LEVEL = ascii(",\"level\":");
+    private static final byte[] LOGGER = ascii(",\"logger\":");
+    private static final byte[] THREAD = ascii(",\"thread\":");
+    private static final byte[] MESSAGE = ascii(",\"message\":");
+    private static final byte[] EXCEPTION = ascii(",\"exception\":");
+    private static final byte[] LINE_END = ascii("}\n");
+
+    private final InputStream input;
+    private final long size;
+    private final byte[] bytes = new byte[64 * 1024];
+    private final List<String> dictionary = new ArrayList<>();
+    private final CRC32 crc = new CRC32();
+
+    private int offset;
+    private int limit;
+    private long read;
+
+    private byte[] frame = new byte[1024];
+    private int frameLength;
+    private int cursor;
+
+    private long position;
+    private boolean ended;
+
+    private long timestamp;
+    private Level level;
+    private String logger;
+    private String thread;
+    private String message;
+    private Map<String, String> context;
+    private String exception;
+
+    private BinaryLogReader(InputStream input, long size) {
+        this.input = input;
+        this.size = size;
+    }
+
+    public static BinaryLogReader open(Path file) throws IOException {
+        BinaryLogReader reader = new BinaryLogReader(Files.newInputStream(file), Files.size(file));
+        try {
+            byte[] header = new byte[MAGIC.length + 1];
+            reader.readFully(header, header.length);
+            if (!Arrays.equals(Arrays.copyOf(header, MAGIC.length), MAGIC) || header[MAGIC.length] != VERSION) {
+                throw new IOException("Not a binary log of version " + VERSION + ": " + file);
+            }
+            reader.position = reader.read;
+            return reader;
+        } catch (IOException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Converts the file given as the only argument to JSON lines on standard output.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: BinaryLogReader <file>");
+            System.exit(2);
+        }
+
+        OutputStream out = new BufferedOutputStream(System.out, 64 * 1024);
+        try (BinaryLogReader reader = open(Paths.get(args[0]))) {
+            reader.writeJson(out);
+        }
+        out.flush();
+    }
+
+    /**
+     * Moves to the next event.
+     *
+     * @return this reader positioned at the event, or {@code null} after the last one
+     */
+    public BinaryLogReader next() throws IOException {
+        if (ended || !readFrame()) {
+            ended = true;
+            return null;
+        }
+
+        int words = dictionary.size();
+        try {
+            byte tag;
+            while ((tag = readByte()) == DICTIONARY) {
+                dictionary.add(readString());
+            }
+            if (tag != EVENT) {
+                throw new IOException("Unknown record " + tag + " at " + at());
+            }
+            readEvent();
+            if (cursor != frameLength) {
+                throw new IOException("Unexpected bytes after the event at " + at());
+            }
+        } catch (IOException e) {
+            // the checksum matched, but the writer was broken or of another version, nothing after it can be trusted
+            dictionary.subList(words, dictionary.size()).clear();
+            ended = true;
+            return null;
+        }
+
+        position = read;
+        return this;
+    }
+
+    /**
+     * Writes all remaining events as JSON lines.
+     */
+    public void writeJson(OutputStream out) throws IOException {
+        JsonBuffer buffer = new JsonBuffer(1024);
+        while (next() != null) {
+            buffer.reset();
+            buffer
+                    .append(TIMESTAMP).append(timestamp)
+                    .append(LEVEL).appendString(level.levelStr)
+                    .append(LOGGER).appendString(logger)
+                    .append(THREAD).appendString(thread)
+                    .append(MESSAGE).appendString(message);
+            for (Map.Entry<String, String> entry : context.entrySet()) {
+                buffer.append((byte) ',').appendString(JsonEncoder.fieldName(entry.getKey())).append((byte) ':').appendString(entry.getValue());
+            }
+            if (exception != null) {
+                buffer.append(EXCEPTION).appendString(exception);
+            }
+            out.write(buffer.append(LINE_END).toByteArray());
+        }
+    }
+
+    public long timestamp() {
+        return timestamp;
+    }
+
+    public Level level() {
+        return level;
+    }
+
+    public String logger() {
+        return logger;
+    }
+
+    public String thread() {
+        return thread;
+    }
+
+    public String message() {
+        return message;
+    }
+
+    /**
+     * @return context of the event, in the order it was written
+     */
+    public Map<String, String> context() {
+        return Collections.unmodifiableMap(context);
+    }
+
+    /**
+     * @return stack trace of the event, or {@code null}
+     */
+    public String exception() {
+        return exception;
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+
+    /**
+     * Words of the dictionary up to the last event read.
+     */
+    List<String> dictionary() {
+        return Collections.unmodifiableList(dictionary);
+    }
+
+    /**
+     * Offset right after the last event read.
+     */
+    long position() {
+        return position;
+    }
+
+    private void readEvent() throws IOException {
+        long timestamp = this.timestamp + readSigned();
+        Level level = Level.fromLocationAwareLoggerInteger(readByte());
+        String logger = readReference();
+        String thread = readReference();
+        String message = readString();
+
+        long entries = readVarint();
+        Map<String, String> context = new LinkedHashMap<>();
+        for (long i = 0; i < entries; i++) {
+            String key = readReference();
+            byte type = readByte();
+            switch (type) {
+                case TEXT:
+                    context.put(key, readString());
+                    break;
+                case NUMBER:
+                    context.put(key, Long.toString(readSigned()));
+                    break;
+                case WORD:
+                    context.put(key, word(readVarint()));
+                    break;
+                default:
+                    throw new IOException("Unknown value type " + type + " at " + (at() - 1));
+            }
+        }
+        String exception = readString();
+
+        // only a complete event replaces the previous one
+        this.timestamp = timestamp;
+        this.level = level;
+        this.logger = logger;
+        this.thread = thread;
+        this.message = message;
+        this.context = context;
+        this.exception = exception;
+    }
+
+    private String readReference() throws IOException {
+        long id = readVarint();
+        return id == 0 ? readString() : word(id - 1);
+    }
+
+    private String word(long id) throws IOException {
+        if (id >= dictionary.size()) {
+            throw new IOException("Unknown dictionary entry " + id + " at " + at());
+        }
+        return dictionary.get((int) id);
+    }
+
+    private String readString() throws IOException {
+        long length = readVarint();
+        if (length == 0) {
+            return null;
+        }
+        if (length - 1 > frameLength - cursor) {
+            throw new EOFException("String longer than its frame at " + at());
+        }
+
+        char[] value = new char[Math.toIntExact(length - 1)];
+        for (int i = 0; i < value.length; i++) {
+            int b = readByte() & 0xff;
+            if (b < 0x80) {
+                value[i] = (char) b;
+            } else if (b < 0xe0) {
+                value[i] = (char) ((b & 0x1f) << 6 | readByte() & 0x3f);
+            } else {
+                int second = readByte() & 0x3f;
+                value[i] = (char) ((b & 0x0f) << 12 | second << 6 | readByte() & 0x3f);
+            }
+        }
+        return new String(value);
+    }
+
+    private long readSigned() throws IOException {
+        long value = readVarint();
+        return value >>> 1 ^ -(value & 1);
+    }
+
+    private long readVarint() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = readByte();
+            value |= (long) (b & 0x7f) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint at " + at());
+    }
+
+    /**
+     * Reads the next frame whose checksum matches.
+     *
+     * @return {@code false} at the end of the log
+     */
+    private boolean readFrame() throws IOException {
+        int length;
+        int checksum;
+        try {
+            length = readInt();
+            // zero filled rest of the mapping, or garbage which would not even fit into the file
+            if (length <= 0 || length > size - read - 4) {
+                return false;
+            }
+            checksum = readInt();
+
+            if (frame.length < length) {
+                frame = new byte[Math.max(frame.length * 2, length)];
+            }
+            readFully(frame, length);
+        } catch (EOFException e) {
+            // cut off while being written
+            return false;
+        }
+
+        crc.reset();
+        crc.update(frame, 0, length);
+        if ((int) crc.getValue() != checksum) {
+            return false;
+        }
+
+        frameLength = length;
+        cursor = 0;
+        return true;
+    }
+
+    private byte readByte() throws IOException {
+        if (cursor == frameLength) {
+            throw new EOFException("Frame at " + position + " ends within a record");
+        }
+        return frame[cursor++];
+    }
+
+    /**
+     * Offset in the file of the next byte of the frame.
+     */
+    private long at() {
+        return position + FRAME_HEADER + cursor;
+    }
+
+    private int readInt() throws IOException {
+        return (readInput() & 0xff) << 24 | (readInput() & 0xff) << 16 | (readInput() & 0xff) << 8 | readInput() & 0xff;
+    }
+
+    private void readFully(byte[] target, int length) throws IOException {
+        int copied = 0;
+        while (copied < length) {
+            if (offset == limit) {
+                fill();
+            }
+            int n = Math.min(length - copied, limit - offset);
+            System.arraycopy(bytes, offset, target, copied, n);
+            offset += n;
+            copied += n;
+            read += n;
+        }
+    }
+
+    private byte readInput() throws IOException {
+        if (offset == limit) {
+            fill();
+        }
+        read++;
+        return bytes[offset++];
+    }
+
+    private void fill() throws IOException {
+        int n = input.read(bytes);
+        if (n <= 0) {
+            throw new EOFException();
+        }
+        offset = 0;
+        limit = n;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,154 @@
+package io.vivy.logger.logback;
+
+import java.util.Arrays;
+
+/**
+ * Growable UTF-8 byte buffer which escapes JSON strings in a single pass, without creating strings.
+ */
+final class JsonBuffer {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+    private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes();
+
+    private byte[] bytes;
+    private int size;
+
+    JsonBuffer(int capacity) {
+        this.bytes = new byte[capacity];
+    }
+
+    void reset() {
+        size = 0;
+    }
+
+    int capacity() {
+        return bytes.length;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+
+    JsonBuffer append(byte b) {
+        ensure(1);
+        bytes[size++] = b;
+        return this;
+    }
+
+    JsonBuffer append(byte[] source) {
+        ensure(source.length);
+        System.arraycopy(source, 0, bytes, size, source.length);
+        size += source.length;
+        return this;
+    }
+
+    JsonBuffer append(long value) {
+        if (value == Long.MIN_VALUE) {
+            return append(MIN_LONG);
+        }
+        if (value < 0) {
+            append((byte) '-');
+            value = -value;
+        }
+
+        int digits = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+
+        ensure(digits);
+        for (int i = size + digits - 1; i >= size; i--) {
+            bytes[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        size += digits;
+        return this;
+    }
+
+    /**
+     * Appends the value as quoted JSON string, {@code null} as JSON null.
+     */
+    JsonBuffer appendString(String value) {
+        if (value == null) {
+            ensure(4);
+            bytes[size++] = 'n';
+            bytes[size++] = 'u';
+            bytes[size++] = 'l';
+            bytes[size++] = 'l';
+            return this;
+        }
+
+        // one byte per char and the quotes, grown only when a char needs more
+        int length = value.length();
+        ensure(length + 2);
+        bytes[size++] = '"';
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+
+            if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+                bytes[size++] = (byte) c;
+                continue;
+            }
+
+            // at most 6 bytes for this char, \\u00XX, and still one for each of the rest and the closing quote
+            ensure(6 + length - i);
+            if (c == '"' || c == '\\') {
+                bytes[size++] = '\\';
+                bytes[size++] = (byte) c;
+            } else if (c < 0x20) {
+                escapeControl(c);
+            } else if (c < 0x800) {
+                bytes[size++] = (byte) (0xc0 | c >> 6);
+                bytes[size++] = (byte) (0x80 | c & 0x3f);
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                bytes[size++] = (byte) (0xf0 | codePoint >> 18);
+                bytes[size++] = (byte) (0x80 | codePoint >> 12 & 0x3f);
+                bytes[size++] = (byte) (0x80 | codePoint >> 6 & 0x3f);
+                bytes[size++] = (byte) (0x80 | codePoint & 0x3f);
+            } else if (Character.isSurrogate(c)) {
+                // unpaired surrogate, not representable in UTF-8
+                bytes[size++] = '?';
+            } else {
+                bytes[size++] = (byte) (0xe0 | c >> 12);
+                bytes[size++] = (byte) (0x80 | c >> 6 & 0x3f);
+                bytes[size++] = (byte) (0x80 | c & 0x3f);
+            }
+        }
+        bytes[size++] = '"';
+        return this;
+    }
+
+    private void escapeControl(char c) {
+        bytes[size++] = '\\';
+        switch (c) {
+            case '\n':
+                bytes[size++] = 'n';
+                break;
+            case '\r':
+                bytes[size++] = 'r';
+                break;
+            case '\t':
+                bytes[size++] = 't';
+                break;
+            case '\b':
+                bytes[size++] = 'b';
+                break;
+            case '\f':
+                bytes[size++] = 'f';
+                break;
+            default:
+                bytes[size++] = 'u';
+                bytes[size++] = '0';
+                bytes[size++] = '0';
+                bytes[size++] = HEX[c >> 4];
+                bytes[size++] = HEX[c & 0xf];
+        }
+    }
+
+    private void ensure(int additional) {
+        if (size + additional > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + additional));
+        }
+    }
+}
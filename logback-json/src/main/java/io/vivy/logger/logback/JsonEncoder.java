@@ -0,0 +1,146 @@
+package io.vivy.logger.logback;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes one JSON object per line: timestamp, level, logger, thread, message, all values of the
+ * MDC property map (the context of a {@code ContextLogger}, including its {@code event}) as top
+ * level fields and the stack trace, if any. Context keys named like one of the other fields are
+ * written with a {@code context_} prefix, e.g. {@code context_level}. Keys starting with the prefix
+ * get it once more, so a context holding both {@code level} and {@code context_level} still writes
+ * no key twice.
+ * <p>
+ * Everything is written straight into a byte buffer reused per thread and escaped in a single
+ * pass. Field prefixes like {@code ,"user_id":} are encoded once per key and cached. Besides the
+ * array handed to the appender, only what Logback renders on its own is allocated per line: the
+ * formatted message, unless the event has formatted it already, and the stack trace.
+ *
+ * <pre>{@code
+ * <appender name="JSON" class="ch.qos.logback.core.ConsoleAppender">
+ *     <encoder class="io.vivy.logger.logback.JsonEncoder" />
+ * </appender>
+ * }</pre>
+ */
+public class JsonEncoder extends EncoderBase<ILoggingEvent> {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int RETAINED_CAPACITY = 64 * 1024;
+    private static final int MAX_CACHED_KEYS = 4096;
+
+    private static final String RESERVED_PREFIX = "context_";
+    private static final Set<String> RESERVED = new HashSet<>(Arrays.asList("timestamp", "level", "logger", "thread", "message", "exception"));
+
+    private static final byte[] TIMESTAMP = ascii("{\"timestamp\":");
+    private static final byte[] LEVEL = ascii(",\"level\":\"");
+    private static final byte[] LOGGER = ascii("\",\"logger\":");
+    private static final byte[] THREAD = ascii(",\"thread\":");
+    private static final byte[] MESSAGE = ascii(",\"message\":");
+    private static final byte[] EXCEPTION = ascii(",\"exception\":");
+    private static final byte[] END = ascii("}\n");
+
+    private final ThreadLocal<JsonBuffer> buffers = ThreadLocal.withInitial(() -> new JsonBuffer(INITIAL_CAPACITY));
+    private final Map<String, byte[]> prefixes = new ConcurrentHashMap<>();
+
+    @Override
+    public byte[] headerBytes() {
+        return null;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        JsonBuffer buffer = buffers.get();
+        buffer.reset();
+
+        buffer
+                .append(TIMESTAMP).append(event.getTimeStamp())
+                .append(LEVEL).append(level(event.getLevel()))
+                .append(LOGGER).appendString(event.getLoggerName())
+                .append(THREAD).appendString(event.getThreadName())
+                .append(MESSAGE).appendString(event.getFormattedMessage());
+
+        Map<String, String> context = event.getMDCPropertyMap();
+        if (context != null) {
+            for (Map.Entry<String, String> entry : context.entrySet()) {
+                buffer.append(prefix(entry.getKey())).appendString(entry.getValue());
+            }
+        }
+
+        IThrowableProxy throwable = event.getThrowableProxy();
+        if (throwable != null) {
+            buffer.append(EXCEPTION).appendString(ThrowableProxyUtil.asString(throwable));
+        }
+
+        byte[] bytes = buffer.append(END).toByteArray();
+
+        // a single huge line must not stay around for the life of the thread
+        if (buffer.capacity() > RETAINED_CAPACITY) {
+            buffers.remove();
+        }
+        return bytes;
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return null;
+    }
+
+    private byte[] prefix(String key) {
+        byte[] prefix = prefixes.get(key);
+        if (prefix == null) {
+            String name = fieldName(key);
+            prefix = new JsonBuffer(name.length() + 4).append((byte) ',').appendString(name).append((byte) ':').toByteArray();
+            if (prefixes.size() < MAX_CACHED_KEYS) {
+                prefixes.put(key, prefix);
+            }
+        }
+        return prefix;
+    }
+
+    /**
+     * Name of the field of a context key, prefixed if it would clash with a field of the event itself
+     * or with the prefixed name of another key.
+     */
+    static String fieldName(String key) {
+        return RESERVED.contains(key) || key.startsWith(RESERVED_PREFIX) ? RESERVED_PREFIX + key : key;
+    }
+
+    private static byte[] level(Level level) {
+        switch (level.levelInt) {
+            case Level.TRACE_INT:
+                return Levels.TRACE;
+            case Level.DEBUG_INT:
+                return Levels.DEBUG;
+            case Level.INFO_INT:
+                return Levels.INFO;
+            case Level.WARN_INT:
+                return Levels.WARN;
+            case Level.ERROR_INT:
+                return Levels.ERROR;
+            default:
+                return ascii(level.levelStr);
+        }
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static final class Levels {
+        private static final byte[] TRACE = ascii("TRACE");
+        private static final byte[] DEBUG = ascii("DEBUG");
+        private static final byte[] INFO = ascii("INFO");
+        private static final byte[] WARN = ascii("WARN");
+        private static final byte[] ERROR = ascii("ERROR");
+    }
+}
@@ -0,0 +1,308 @@
+package io.vivy.logger.logback;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxy;
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinaryLogAppenderTest {
+
+    private final LoggerContext loggerContext = new LoggerContext();
+    private final List<BinaryLogAppender> appenders = new ArrayList<>();
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void tearDown() {
+        appenders.forEach(BinaryLogAppender::stop);
+    }
+
+    @Test
+    void shouldReadBackWhatJsonEncoderWrites() throws IOException {
+        val file = directory.resolve("app.vlog");
+        val appender = appender(file);
+
+        val first = event("shire", Level.INFO, 1_600_000_000_000L, "second breakfast at {}", 11);
+        first.setMDCPropertyMap(context("event", "meal_served", "hobbit", "pippin", "count", "42", "missing", null));
+        val second = event("mordor", Level.ERROR, 1_599_999_999_000L, "\"one\" ring\n\u2014 \ud83d\udc8d");
+        second.setMDCPropertyMap(context("event", "meal_served", "count", "-7", "padded", "007", "huge", "123456789012345678901"));
+        second.setThrowableProxy(new ThrowableProxy(new IllegalStateException("balrog")));
+
+        appender.doAppend(first);
+        appender.doAppend(second);
+        appender.stop();
+
+        try (val reader = BinaryLogReader.open(file)) {
+            assertThat(reader.next()).isSameAs(reader);
+            assertThat(reader.timestamp()).isEqualTo(1_600_000_000_000L);
+            assertThat(reader.level()).isEqualTo(Level.INFO);
+            assertThat(reader.logger()).isEqualTo("shire");
+            assertThat(reader.message()).isEqualTo("second breakfast at 11");
+            assertThat(reader.context()).isEqualTo(first.getMDCPropertyMap());
+            assertThat(reader.exception()).isNull();
+
+            assertThat(reader.next()).isSameAs(reader);
+            assertThat(reader.timestamp()).isEqualTo(1_599_999_999_000L);
+            assertThat(reader.message()).isEqualTo("\"one\" ring\n\u2014 \ud83d\udc8d");
+            assertThat(reader.context()).isEqualTo(second.getMDCPropertyMap());
+            assertThat(reader.exception()).startsWith("java.lang.IllegalStateException: balrog");
+
+            assertThat(reader.next()).isNull();
+        }
+
+        val encoder = new JsonEncoder();
+        encoder.setContext(loggerContext);
+        val json = new String(encoder.encode(first), StandardCharsets.UTF_8) + new String(encoder.encode(second), StandardCharsets.UTF_8);
+        assertThat(json(file)).isEqualTo(json);
+    }
+
+    @Test
+    void shouldEncodeContextsOfAnySizeAndTruncateOnStop() throws IOException {
+        val file = directory.resolve("app.vlog");
+        val appender = appender(file);
+
+        val keysAndValues = new String[80];
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            keysAndValues[i] = "key_" + i;
+            keysAndValues[i + 1] = i % 4 == 0 ? String.valueOf(i) : "value " + i;
+        }
+        val large = event("shire", Level.INFO, 1000L, "large");
+        large.setMDCPropertyMap(context(keysAndValues));
+        val small = event("shire", Level.INFO, 2000L, "small");
+        small.setMDCPropertyMap(context("event", "meal_served", "hobbit", "pippin"));
+
+        appender.doAppend(small);
+        appender.doAppend(large);
+        appender.doAppend(small);
+        appender.doAppend(event("shire", Level.INFO, 3000L, "none"));
+        appender.stop();
+
+        try (val reader = BinaryLogReader.open(file)) {
+            assertThat(reader.next().context()).isEqualTo(small.getMDCPropertyMap());
+            assertThat(reader.next().context()).isEqualTo(large.getMDCPropertyMap());
+            assertThat(reader.next().context()).isEqualTo(small.getMDCPropertyMap());
+            assertThat(reader.next().context()).isEmpty();
+            assertThat(reader.next()).isNull();
+            assertThat(Files.size(file)).isEqualTo(reader.position());
+        }
+    }
+
+    @Test
+    void shouldAppendToExistingFile() throws IOException {
+        val file = directory.resolve("app.vlog");
+
+        val appender = appender(file);
+        appender.doAppend(event("shire", Level.INFO, 1000L, "first"));
+        appender.stop();
+        long size = Files.size(file);
+
+        val reopened = appender(file);
+        reopened.doAppend(event("shire", Level.INFO, 2000L, "second"));
+        reopened.stop();
+
+        assertThat(json(file))
+                .contains("\"timestamp\":1000,")
+                .contains("\"timestamp\":2000,")
+                .contains("\"message\":\"second\"");
+        // the logger and thread names were not written again
+        assertThat(Files.size(file) - size).isLessThan(size - 5);
+    }
+
+    @Test
+    void shouldWriteFarLessThanJson() throws IOException {
+        val file = directory.resolve("app.vlog");
+        val appender = appender(file);
+        appender.setChunkSize(1024);
+        val encoder = new JsonEncoder();
+        encoder.setContext(loggerContext);
+
+        long json = 0;
+        for (int i = 0; i < 1000; i++) {
+            val event = event("io.vivy.shop.OrderService", Level.INFO, 1_600_000_000_000L + i * 3, "order created");
+            event.setMDCPropertyMap(context("event", "order_created", "user_id", String.valueOf(1000 + i % 10), "order_id", String.valueOf(50_000 + i), "tenant", "shire"));
+            appender.doAppend(event);
+            json += encoder.encode(event).length;
+        }
+        appender.stop();
+
+        assertThat(Files.size(file)).isLessThan(json / 4);
+        assertThat(json(file).split("\n")).hasSize(1000);
+    }
+
+    @Test
+    void shouldStopAtIncompleteEvent() throws IOException {
+        val file = directory.resolve("app.vlog");
+        val appender = appender(file);
+        appender.doAppend(event("shire", Level.INFO, 1000L, "complete"));
+        appender.stop();
+        long complete = Files.size(file);
+
+        val again = appender(file);
+        val cut = event("moria", Level.WARN, 2000L, "cut off");
+        cut.setMDCPropertyMap(context("dwarf", "gimli"));
+        again.doAppend(cut);
+        again.stop();
+
+        val truncated = directory.resolve("truncated.vlog");
+        val bytes = Files.readAllBytes(file);
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 3));
+
+        assertThat(json(truncated)).contains("complete").doesNotContain("cut off");
+
+        // appending to it again continues with the words of complete events only
+        val repaired = appender(truncated);
+        repaired.doAppend(event("moria", Level.WARN, 3000L, "written again"));
+        repaired.stop();
+
+        assertThat(json(truncated)).contains("complete").contains("\"logger\":\"moria\"").contains("written again");
+        assertThat(Files.size(truncated)).isGreaterThan(complete);
+    }
+
+    @Test
+    void shouldStopAtZeroFilledTail() throws IOException {
+        val file = directory.resolve("app.vlog");
+        val appender = appender(file);
+        appender.doAppend(event("shire", Level.INFO, 1000L, "before the crash"));
+        appender.stop();
+
+        // a crash leaves the rest of the mapping in the file
+        Files.write(file, new byte[4096], StandardOpenOption.APPEND);
+
+        assertThat(json(file).split("\n")).hasSize(1);
+
+        val reopened = appender(file);
+        assertThat(reopened.isStarted()).isTrue();
+        reopened.doAppend(event("shire", Level.INFO, 2000L, "after the crash"));
+        reopened.stop();
+
+        assertThat(json(file)).contains("before the crash").contains("after the crash");
+    }
+
+    @Test
+    void shouldStopAtCorruptedFrame() throws IOException {
+        val file = directory.resolve("app.vlog");
+        val appender = appender(file);
+        appender.doAppend(event("shire", Level.INFO, 1000L, "intact"));
+        appender.doAppend(event("shire", Level.INFO, 2000L, "corrupted"));
+        appender.stop();
+
+        val bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 2] ^= 0x55;
+        val garbage = new byte[100];
+        new Random(7).nextBytes(garbage);
+        Files.write(file, bytes);
+        Files.write(file, garbage, StandardOpenOption.APPEND);
+
+        assertThat(json(file)).contains("intact").doesNotContain("corrupted");
+
+        val reopened = appender(file);
+        assertThat(reopened.isStarted()).isTrue();
+        reopened.doAppend(event("shire", Level.INFO, 3000L, "repaired"));
+        reopened.stop();
+
+        assertThat(json(file).split("\n")).hasSize(2);
+        assertThat(json(file)).contains("\"timestamp\":3000,").contains("repaired");
+    }
+
+    @Test
+    void shouldForgetWordsOfFailedEvents() throws IOException {
+        val file = directory.resolve("app.vlog");
+        val appender = appender(file);
+
+        val failing = new LoggingEvent(BinaryLogAppenderTest.class.getName(), loggerContext.getLogger("moria"), Level.ERROR, "failed", null, null) {
+            @Override
+            public IThrowableProxy getThrowableProxy() {
+                throw new IllegalStateException("unreadable");
+            }
+        };
+        failing.setTimeStamp(1000L);
+        failing.setMDCPropertyMap(context("balrog", "durin's bane"));
+        appender.doAppend(failing);
+
+        val written = event("moria", Level.INFO, 2000L, "written");
+        written.setMDCPropertyMap(context("balrog", "fled"));
+        appender.doAppend(written);
+        appender.stop();
+
+        try (val reader = BinaryLogReader.open(file)) {
+            assertThat(reader.next()).isSameAs(reader);
+            assertThat(reader.timestamp()).isEqualTo(2000L);
+            assertThat(reader.logger()).isEqualTo("moria");
+            assertThat(reader.context()).containsEntry("balrog", "fled");
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void shouldRejectOtherFiles() throws IOException {
+        val file = directory.resolve("app.json");
+        Files.write(file, "{\"level\":\"INFO\"}\n".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> BinaryLogReader.open(file)).isInstanceOf(IOException.class);
+
+        val appender = appender(file);
+        assertThat(appender.isStarted()).isFalse();
+    }
+
+    @Test
+    void shouldRecognizeNumbers() {
+        assertThat(Arrays.asList("0", "7", "-7", "123456789012345678"))
+                .allMatch(BinaryLogAppender::isNumber);
+        assertThat(Arrays.asList("", "-", "-0", "007", "1.5", "1e3", "+1", "1234567890123456789", null))
+                .noneMatch(BinaryLogAppender::isNumber);
+    }
+
+    private BinaryLogAppender appender(Path file) {
+        val appender = new BinaryLogAppender();
+        appender.setContext(loggerContext);
+        appender.setFile(file.toString());
+        appender.start();
+        appenders.add(appender);
+        return appender;
+    }
+
+    private static String json(Path file) throws IOException {
+        val out = new ByteArrayOutputStream();
+        try (val reader = BinaryLogReader.open(file)) {
+            reader.writeJson(out);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private LoggingEvent event(String logger, Level level, long timestamp, String message, Object... arguments) {
+        val event = new LoggingEvent(BinaryLogAppenderTest.class.getName(), loggerContext.getLogger(logger), level, message, null, arguments);
+        event.setTimeStamp(timestamp);
+        event.setThreadName("main");
+        return event;
+    }
+
+    private static Map<String, String> context(String... keysAndValues) {
+        Map<String, String> context = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            context.put(keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return context;
+    }
+}
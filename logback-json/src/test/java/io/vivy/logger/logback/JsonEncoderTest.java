@@ -0,0 +1,138 @@
+package io.vivy.logger.logback;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.vivy.logger.ContextLogger;
+import io.vivy.logger.Emitters;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonEncoderTest {
+
+    private final LoggerContext loggerContext = new LoggerContext();
+    private final JsonEncoder encoder = new JsonEncoder();
+
+    @Test
+    void shouldWriteOneObjectPerLine() {
+        val event = event("shire", Level.INFO, "second breakfast at {}", 11);
+        val context = new LinkedHashMap<String, String>();
+        context.put("event", "meal_served");
+        context.put("hobbit", "pippin");
+        event.setMDCPropertyMap(context);
+
+        assertThat(encode(event)).isEqualTo("{\"timestamp\":1600000000000,\"level\":\"INFO\",\"logger\":\"shire\",\"thread\":\"main\","
+                + "\"message\":\"second breakfast at 11\",\"event\":\"meal_served\",\"hobbit\":\"pippin\"}\n");
+    }
+
+    @Test
+    void shouldEscapeStringsAndKeys() {
+        val event = event("mordor", Level.WARN, "\"one\" ring\\\n\tto rule\u0001them");
+        val context = new LinkedHashMap<String, String>();
+        context.put("sp\"eech", "mellon \u2014 \u03b5\u03bb\u03b2 \ud83d\udc8d");
+        context.put("missing", null);
+        event.setMDCPropertyMap(context);
+
+        assertThat(encode(event)).isEqualTo("{\"timestamp\":1600000000000,\"level\":\"WARN\",\"logger\":\"mordor\",\"thread\":\"main\","
+                + "\"message\":\"\\\"one\\\" ring\\\\\\n\\tto rule\\u0001them\","
+                + "\"sp\\\"eech\":\"mellon \u2014 \u03b5\u03bb\u03b2 \ud83d\udc8d\",\"missing\":null}\n");
+    }
+
+    @Test
+    void shouldPrefixContextKeysNamedLikeFields() {
+        val event = event("shire", Level.INFO, "hello");
+        val context = new LinkedHashMap<String, String>();
+        context.put("level", "second");
+        context.put("message", "from context");
+        context.put("timestamp", "yesterday");
+        context.put("user_id", "42");
+        event.setMDCPropertyMap(context);
+
+        assertThat(encode(event)).isEqualTo("{\"timestamp\":1600000000000,\"level\":\"INFO\",\"logger\":\"shire\",\"thread\":\"main\","
+                + "\"message\":\"hello\",\"context_level\":\"second\",\"context_message\":\"from context\","
+                + "\"context_timestamp\":\"yesterday\",\"user_id\":\"42\"}\n");
+    }
+
+    @Test
+    void shouldPrefixContextKeysNamedLikePrefixedOnes() {
+        val event = event("shire", Level.INFO, "hello");
+        val context = new LinkedHashMap<String, String>();
+        context.put("level", "second");
+        context.put("context_level", "third");
+        event.setMDCPropertyMap(context);
+
+        assertThat(encode(event)).isEqualTo("{\"timestamp\":1600000000000,\"level\":\"INFO\",\"logger\":\"shire\",\"thread\":\"main\","
+                + "\"message\":\"hello\",\"context_level\":\"second\",\"context_context_level\":\"third\"}\n");
+    }
+
+    @Test
+    void shouldGrowBufferOnlyForCharsNeedingMoreBytes() {
+        val ascii = new JsonBuffer(16).appendString("second meal");
+        val escaped = new JsonBuffer(4).appendString("a\"\u0001\u03b5\u2014\ud83d\udc8d\nb");
+
+        assertThat(ascii.capacity()).isEqualTo(16);
+        assertThat(new String(ascii.toByteArray(), StandardCharsets.UTF_8)).isEqualTo("\"second meal\"");
+        assertThat(new String(escaped.toByteArray(), StandardCharsets.UTF_8)).isEqualTo("\"a\\\"\\u0001\u03b5\u2014\ud83d\udc8d\\nb\"");
+    }
+
+    @Test
+    void shouldWriteStackTrace() {
+        val event = event("moria", Level.ERROR, "fell");
+        event.setThrowableProxy(new ch.qos.logback.classic.spi.ThrowableProxy(new IllegalStateException("balrog")));
+
+        assertThat(encode(event))
+                .startsWith("{\"timestamp\":1600000000000,\"level\":\"ERROR\",\"logger\":\"moria\",\"thread\":\"main\",\"message\":\"fell\","
+                        + "\"exception\":\"java.lang.IllegalStateException: balrog\\n\\tat ")
+                .endsWith("\"}\n")
+                .containsOnlyOnce("\n");
+    }
+
+    @Test
+    void shouldReuseBufferAcrossEventsOfDifferentSize() {
+        val large = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            large.append('x');
+        }
+
+        assertThat(encode(event("rohan", Level.DEBUG, large.toString())).length()).isEqualTo(100_090);
+        assertThat(encode(event("rohan", Level.DEBUG, "small"))).isEqualTo("{\"timestamp\":1600000000000,\"level\":\"DEBUG\","
+                + "\"logger\":\"rohan\",\"thread\":\"main\",\"message\":\"small\"}\n");
+    }
+
+    @Test
+    void shouldEncodeContextOfContextLogger() {
+        val logger = loggerContext.getLogger("gondor");
+        val appender = new ListAppender<ILoggingEvent>();
+        appender.start();
+        logger.addAppender(appender);
+
+        ContextLogger.of(logger, Emitters.events())
+                .event("beacon_lit")
+                .with("count", 7)
+                .info("calling for aid");
+
+        assertThat(encode(appender.list.get(0)))
+                .contains("\"level\":\"INFO\",\"logger\":\"gondor\"")
+                .contains("\"message\":\"calling for aid\"")
+                .contains("\"event\":\"beacon_lit\"")
+                .contains("\"count\":\"7\"");
+    }
+
+    private LoggingEvent event(String logger, Level level, String message, Object... arguments) {
+        val event = new LoggingEvent(JsonEncoderTest.class.getName(), loggerContext.getLogger(logger), level, message, null, arguments);
+        event.setTimeStamp(1600000000000L);
+        event.setThreadName("main");
+        return event;
+    }
+
+    private String encode(ILoggingEvent event) {
+        return new String(encoder.encode(event), StandardCharsets.UTF_8);
+    }
+}
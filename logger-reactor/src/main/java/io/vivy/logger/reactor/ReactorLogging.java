@@ -0,0 +1,100 @@
+package io.vivy.logger.reactor;
+
+import io.vivy.logger.ContextLogger;
+import io.vivy.logger.LogContext;
+import reactor.core.publisher.Signal;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Carries the {@link LogContext} of a {@link ContextLogger} in the Reactor {@link Context} instead
+ * of the MDC, so it follows the subscription across threads without being copied on every hop.
+ * <p>
+ * The context is written with {@code contextWrite} and read by the signal consumers below, which
+ * log with it on whatever thread the signal arrives. Together with a logger using
+ * {@link io.vivy.logger.Emitters#events()} the thread local MDC is not touched at all.
+ *
+ * <pre>{@code
+ * ContextLogger log = ContextLogger.of(LoggerFactory.getLogger(Orders.class), Emitters.events());
+ *
+ * orders.findAll()
+ *         .doOnEach(ReactorLogging.doOnNextLog(log, (logger, order) -> logger.with("order_id", order.getId()).info("loaded")))
+ *         .contextWrite(ReactorLogging.with("request_id", requestId));
+ * }</pre>
+ */
+public final class ReactorLogging {
+
+    /**
+     * Key of the {@link LogContext} in the Reactor context.
+     */
+    public static final Class<LogContext> KEY = LogContext.class;
+
+    private ReactorLogging() {
+    }
+
+    /**
+     * @return log context of the subscription, empty if none was written
+     */
+    public static LogContext context(ContextView view) {
+        return view.getOrDefault(KEY, LogContext.empty());
+    }
+
+    /**
+     * Adds the value to the log context of the subscription, for {@code contextWrite}.
+     */
+    public static Function<Context, Context> with(String key, Object value) {
+        return it -> it.put(KEY, context(it).with(key, value));
+    }
+
+    /**
+     * Adds all values of the context to the log context of the subscription, for {@code contextWrite}.
+     */
+    public static Function<Context, Context> with(LogContext context) {
+        return it -> it.put(KEY, context(it).with(context));
+    }
+
+    /**
+     * Adds the context of the logger to the log context of the subscription, for {@code contextWrite}.
+     */
+    public static Function<Context, Context> with(ContextLogger logger) {
+        return with(logger.context());
+    }
+
+    /**
+     * Logs every element, for {@code doOnEach}. The logger passed to the callback has the log
+     * context of the subscription on top of its own.
+     */
+    public static <T> Consumer<Signal<T>> doOnNextLog(ContextLogger logger, BiConsumer<ContextLogger, ? super T> log) {
+        return signal -> {
+            if (signal.isOnNext()) {
+                log.accept(logger.with(context(signal.getContextView())), signal.get());
+            }
+        };
+    }
+
+    /**
+     * Logs the error terminating the sequence, for {@code doOnEach}.
+     */
+    public static <T> Consumer<Signal<T>> doOnErrorLog(ContextLogger logger, BiConsumer<ContextLogger, Throwable> log) {
+        return signal -> {
+            if (signal.isOnError()) {
+                log.accept(logger.with(context(signal.getContextView())), signal.getThrowable());
+            }
+        };
+    }
+
+    /**
+     * Logs the completion of the sequence, for {@code doOnEach}.
+     */
+    public static <T> Consumer<Signal<T>> doOnCompleteLog(ContextLogger logger, Consumer<ContextLogger> log) {
+        return signal -> {
+            if (signal.isOnComplete()) {
+                log.accept(logger.with(context(signal.getContextView())));
+            }
+        };
+    }
+}
@@ -0,0 +1,98 @@
+package io.vivy.logger.reactor;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.vivy.logger.ContextLogger;
+import io.vivy.logger.Emitters;
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReactorLoggingTest {
+    private static final ch.qos.logback.classic.Logger log = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(ReactorLoggingTest.class);
+
+    private final List<Map<String, String>> mdcs = new CopyOnWriteArrayList<>();
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        appender = new ListAppender<ILoggingEvent>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                Map<String, String> mdc = MDC.getCopyOfContextMap();
+                mdcs.add(mdc == null ? Collections.emptyMap() : mdc);
+                super.append(event);
+            }
+        };
+        appender.start();
+        log.addAppender(appender);
+        log.setLevel(Level.INFO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        log.detachAppender(appender);
+        log.setLevel(null);
+    }
+
+    @Test
+    void shouldLogElementsWithSubscriptionContext() {
+        val logger = ContextLogger.of(log, Emitters.events()).with("service", "shire");
+
+        Flux.just(1, 2)
+                .publishOn(Schedulers.parallel())
+                .doOnEach(ReactorLogging.doOnNextLog(logger, (it, value) -> it.with("value", value).info("next {}", value)))
+                .doOnEach(ReactorLogging.doOnCompleteLog(logger, it -> it.event("done").info("complete")))
+                .contextWrite(ReactorLogging.with("request_id", 7))
+                .contextWrite(ReactorLogging.with(ContextLogger.of(log).with("user_id", 42)))
+                .blockLast();
+
+        assertThat(appender.list).hasSize(3);
+        assertThat(appender.list.get(0).getMDCPropertyMap())
+                .hasSize(4)
+                .containsEntry("service", "shire")
+                .containsEntry("request_id", "7")
+                .containsEntry("user_id", "42")
+                .containsEntry("value", "1");
+        assertThat(appender.list.get(1).getMDCPropertyMap()).containsEntry("value", "2");
+        assertThat(appender.list.get(2).getMDCPropertyMap()).containsEntry("event", "done").containsEntry("request_id", "7");
+        assertThat(appender.list).allMatch(it -> it.getThreadName().startsWith("parallel"));
+        assertThat(mdcs).allMatch(Map::isEmpty);
+    }
+
+    @Test
+    void shouldLogError() {
+        val logger = ContextLogger.of(log, Emitters.events());
+
+        val mono = Mono.error(new IllegalStateException("balrog"))
+                .doOnEach(ReactorLogging.doOnErrorLog(logger, (it, error) -> it.event("failed").error(error)))
+                .contextWrite(ReactorLogging.with("request_id", 7));
+
+        assertThatThrownBy(mono::block).hasMessageContaining("balrog");
+        assertThat(appender.list).hasSize(1);
+        assertThat(appender.list.get(0).getThrowableProxy().getMessage()).isEqualTo("balrog");
+        assertThat(appender.list.get(0).getMDCPropertyMap()).containsEntry("event", "failed").containsEntry("request_id", "7");
+    }
+
+    @Test
+    void shouldReadEmptyContextWithoutWrite() {
+        val context = Mono.deferContextual(view -> Mono.just(ReactorLogging.context(view))).block();
+
+        assertThat(context.isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,265 @@
+package io.vivy.logger;
+
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+import org.slf4j.event.Level;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collapses duplicate events before they reach another {@link Emitter}. Events are duplicates when
+ * they share the {@code event} name, the level and the values of the configured context keys.
+ * <p>
+ * The first occurrence is emitted right away and opens a window. Duplicates within the window are
+ * only counted, when it ends a single roll-up line with the context of the first occurrence and
+ * {@code repeated}, {@code first_seen} and {@code last_seen} is emitted. Events without an event
+ * name pass through unchanged.
+ * <p>
+ * Windows live in a concurrent table of bounded size. Ended windows are rolled up on the next
+ * event after each window length, or by {@link #flush()}. When the table is full, the windows
+ * which are open the longest are rolled up early to make room. Duplicates racing with the end of
+ * their window may be counted in neither.
+ *
+ * <pre>{@code
+ * Emitter emitter = AggregatingEmitter.builder(Emitters.events())
+ *         .keys("dependency", "status")
+ *         .window(Duration.ofSeconds(10))
+ *         .build();
+ * }</pre>
+ */
+public final class AggregatingEmitter implements Emitter {
+
+    private static final String EVENT = "event";
+
+    private final Emitter delegate;
+    private final String[] keys;
+    private final long windowMillis;
+    private final int maxWindows;
+    private final Map<Key, Window> windows = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep;
+
+    private AggregatingEmitter(Emitter delegate, String[] keys, long windowMillis, int maxWindows) {
+        this.delegate = delegate;
+        this.keys = keys;
+        this.windowMillis = windowMillis;
+        this.maxWindows = maxWindows;
+        this.nextSweep = new AtomicLong(System.currentTimeMillis() + windowMillis);
+    }
+
+    /**
+     * @param delegate emits first occurrences and roll-ups, e.g. {@link Emitters#events()}
+     */
+    public static Builder builder(Emitter delegate) {
+        return new Builder(delegate);
+    }
+
+    @Override
+    public void emit(Logger logger, Level level, Marker marker, String message, Object[] arguments, Throwable throwable, LogContext context) {
+        emit(logger, level, marker, message, arguments, throwable, context, false);
+    }
+
+    @Override
+    public void emit(Logger logger, Level level, Marker marker, String message, Object[] arguments, Throwable throwable, LogContext context, boolean levelDecided) {
+        String event = context.isEmpty() ? null : context.get(EVENT);
+        if (event == null) {
+            delegate.emit(logger, level, marker, message, arguments, throwable, context, levelDecided);
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        Key key = key(event, level, context);
+
+        for (;;) {
+            Window window = windows.get(key);
+            if (window == null) {
+                if (windows.size() >= maxWindows) {
+                    evict(now);
+                }
+                if (windows.putIfAbsent(key, new Window(logger, level, levelDecided, context, now, now + windowMillis)) == null) {
+                    delegate.emit(logger, level, marker, message, arguments, throwable, context, levelDecided);
+                    break;
+                }
+            } else if (now < window.end) {
+                window.repeat(now);
+                break;
+            } else {
+                close(key, window);
+            }
+        }
+
+        long sweep = nextSweep.get();
+        if (now >= sweep && nextSweep.compareAndSet(sweep, now + windowMillis)) {
+            sweep(now);
+        }
+    }
+
+    /**
+     * Rolls up all windows, ended or not, e.g. before shutdown.
+     */
+    public void flush() {
+        windows.forEach(this::close);
+    }
+
+    private Key key(String event, Level level, LogContext context) {
+        String[] values = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = context.get(keys[i]);
+        }
+        return new Key(event, level, values);
+    }
+
+    private void sweep(long now) {
+        windows.forEach((key, window) -> {
+            if (now >= window.end) {
+                close(key, window);
+            }
+        });
+    }
+
+    private void evict(long now) {
+        sweep(now);
+
+        // still full of open windows, roll up the oldest eighth
+        int excess = windows.size() - maxWindows + Math.max(1, maxWindows / 8);
+        if (excess > 0) {
+            windows.entrySet()
+                    .stream()
+                    .sorted((left, right) -> Long.compare(left.getValue().first, right.getValue().first))
+                    .limit(excess)
+                    .forEach(it -> close(it.getKey(), it.getValue()));
+        }
+    }
+
+    private void close(Key key, Window window) {
+        // only the thread which removes the window rolls it up
+        if (!windows.remove(key, window)) {
+            return;
+        }
+
+        long repeated = window.repeated.sum();
+        if (repeated == 0) {
+            return;
+        }
+
+        LogContext context = window.context
+                .with("repeated", repeated)
+                .with("first_seen", Instant.ofEpochMilli(window.first))
+                .with("last_seen", Instant.ofEpochMilli(window.last));
+        delegate.emit(window.logger, window.level, null, "repeated {} times", new Object[]{repeated}, null, context, window.levelDecided);
+    }
+
+    public static final class Builder {
+
+        private final Emitter delegate;
+        private String[] keys = new String[0];
+        private Duration window = Duration.ofSeconds(10);
+        private int maxWindows = 10_000;
+
+        private Builder(Emitter delegate) {
+            this.delegate = delegate;
+        }
+
+        /**
+         * Context keys whose values tell events with the same name apart, none by default.
+         */
+        public Builder keys(String... keys) {
+            this.keys = keys.clone();
+            return this;
+        }
+
+        /**
+         * Length of a window, 10 seconds by default.
+         */
+        public Builder window(Duration window) {
+            if (window.isNegative() || window.isZero()) {
+                throw new IllegalArgumentException("Window must be positive: " + window);
+            }
+            this.window = window;
+            return this;
+        }
+
+        /**
+         * Maximum number of open windows, 10 000 by default.
+         */
+        public Builder maxWindows(int maxWindows) {
+            if (maxWindows < 1) {
+                throw new IllegalArgumentException("At least one window is needed, was " + maxWindows);
+            }
+            this.maxWindows = maxWindows;
+            return this;
+        }
+
+        public AggregatingEmitter build() {
+            return new AggregatingEmitter(delegate, keys, window.toMillis(), maxWindows);
+        }
+    }
+
+    private static final class Key {
+        private final String event;
+        private final Level level;
+        private final String[] values;
+        private final int hash;
+
+        Key(String event, Level level, String[] values) {
+            this.event = event;
+            this.level = level;
+            this.values = values;
+            this.hash = 31 * (31 * event.hashCode() + level.ordinal()) + Arrays.hashCode(values);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return hash == other.hash && level == other.level && event.equals(other.event) && Arrays.equals(values, other.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Window {
+        private final Logger logger;
+        private final Level level;
+        private final boolean levelDecided;
+        private final LogContext context;
+        private final long first;
+        private final long end;
+        private final LongAdder repeated = new LongAdder();
+
+        /**
+         * Written at most once per millisecond and thread, so a flood does not keep the line busy.
+         */
+        private volatile long last;
+
+        Window(Logger logger, Level level, boolean levelDecided, LogContext context, long first, long end) {
+            this.logger = logger;
+            this.level = level;
+            this.levelDecided = levelDecided;
+            this.context = context;
+            this.first = first;
+            this.end = end;
+            this.last = first;
+        }
+
+        void repeat(long now) {
+            repeated.increment();
+            if (now > last) {
+                last = now;
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package io.vivy.logger;
+
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+import org.slf4j.event.Level;
+
+import java.io.Closeable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands events over to a background thread, which emits them through another {@link Emitter}.
+ * <p>
+ * The caller only claims a slot of a bounded lock-free ring and stores references to the
+ * message, the arguments and the immutable {@link LogContext}. Arguments are therefore formatted
+ * on the background thread, they must not be mutated after the call.
+ * <p>
+ * What belongs to the calling thread is taken along in the slot: the time of the call, the name
+ * of the thread and its MDC and {@link ScopedContext}, linked beneath the context without copying
+ * the MDC of Logback. Events of {@link Emitters#events()} carry the caller's time and thread, other
+ * emitters can read them through {@link #callerTimestamp()} and {@link #callerThreadName()}.
+ *
+ * <pre>{@code
+ * AsyncEmitter async = AsyncEmitter.start(Emitters.events(), 8192, AsyncEmitter.Overflow.DROP_BELOW_WARN);
+ * ContextLogger log = ContextLogger.of(LoggerFactory.getLogger(Orders.class), async);
+ * }</pre>
+ */
+public final class AsyncEmitter implements Emitter, Closeable {
+
+    /**
+     * What the caller does when the ring is full.
+     */
+    public enum Overflow {
+        /**
+         * Waits for a free slot, back-pressure for the caller.
+         */
+        BLOCK,
+        /**
+         * Drops the event.
+         */
+        DROP,
+        /**
+         * Drops TRACE, DEBUG and INFO events, waits for WARN and ERROR ones.
+         */
+        DROP_BELOW_WARN
+    }
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long MIN_BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+    private static final long MAX_BLOCK_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Emitter delegate;
+    private final Overflow overflow;
+    private final EventRingBuffer ring;
+    private final Worker consumer;
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile boolean running = true;
+
+    private AsyncEmitter(Emitter delegate, int capacity, Overflow overflow) {
+        this.delegate = delegate;
+        this.overflow = overflow;
+        this.ring = new EventRingBuffer(capacity);
+        this.consumer = new Worker(this::consume);
+        this.consumer.setDaemon(true);
+    }
+
+    /**
+     * @param delegate emits the events on the background thread, e.g. {@link Emitters#events()}
+     * @param capacity size of the ring, a power of two
+     */
+    public static AsyncEmitter start(Emitter delegate, int capacity, Overflow overflow) {
+        AsyncEmitter emitter = new AsyncEmitter(delegate, capacity, overflow);
+        emitter.consumer.start();
+        return emitter;
+    }
+
+    @Override
+    public void emit(Logger logger, Level level, Marker marker, String message, Object[] arguments, Throwable throwable, LogContext context) {
+        emit(logger, level, marker, message, arguments, throwable, context, false);
+    }
+
+    @Override
+    public void emit(Logger logger, Level level, Marker marker, String message, Object[] arguments, Throwable throwable, LogContext context, boolean levelDecided) {
+        if (!running) {
+            dropped.increment();
+            return;
+        }
+        LogContext captured = MdcSupport.capture(context);
+        long timestamp = System.currentTimeMillis();
+        String threadName = Thread.currentThread().getName();
+
+        long park = MIN_BLOCK_PARK_NANOS;
+        while (!ring.offer(logger, level, marker, message, arguments, throwable, captured, levelDecided, timestamp, threadName)) {
+            if (!running || overflow == Overflow.DROP || overflow == Overflow.DROP_BELOW_WARN && level.toInt() < Level.WARN.toInt()) {
+                dropped.increment();
+                return;
+            }
+            // the consumer frees slots in bursts, backing off keeps waiting callers off its core
+            LockSupport.parkNanos(this, park);
+            park = Math.min(park * 2, MAX_BLOCK_PARK_NANOS);
+        }
+    }
+
+    /**
+     * Time the event being emitted was logged at, the current time unless called by an emitter
+     * on the background thread.
+     */
+    public static long callerTimestamp() {
+        Thread current = Thread.currentThread();
+        return current instanceof Worker ? ((Worker) current).timestamp : System.currentTimeMillis();
+    }
+
+    /**
+     * Name of the thread which logged the event being emitted, the current one unless called by an
+     * emitter on the background thread.
+     */
+    public static String callerThreadName() {
+        Thread current = Thread.currentThread();
+        String name = current instanceof Worker ? ((Worker) current).threadName : null;
+        return name != null ? name : current.getName();
+    }
+
+    /**
+     * Number of events dropped because the ring was full or the emitter closed.
+     */
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Stops accepting events and waits until the ones already accepted are emitted.
+     * Events racing with the close may be lost.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void consume() {
+        while (running || !ring.isEmpty()) {
+            try {
+                if (!ring.poll(delegate, consumer)) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+            } catch (RuntimeException e) {
+                // an appender failed, this must not stop the logging of everything else
+                dropped.increment();
+            }
+        }
+    }
+
+    /**
+     * Background thread, which knows where the event it emits comes from.
+     */
+    static final class Worker extends Thread {
+
+        long timestamp;
+        String threadName;
+
+        private Worker(Runnable task) {
+            super(task, "mdc-logger-async");
+        }
+    }
+}
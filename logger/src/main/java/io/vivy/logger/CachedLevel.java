@@ -0,0 +1,57 @@
+package io.vivy.logger;
+
+import org.slf4j.Logger;
+
+/**
+ * Effective level of a logger, read once and refreshed when the logging framework is reconfigured.
+ * <p>
+ * Level checks without a marker then are a single volatile read instead of a call into the
+ * delegate. Turbo filters are not consulted for them, the marker overloads still are.
+ *
+ * @see ContextLogger#cachingLevels()
+ */
+public final class CachedLevel {
+
+    static final int TRACE = 5000;
+    static final int DEBUG = 10000;
+    static final int INFO = 20000;
+    static final int WARN = 30000;
+    static final int ERROR = 40000;
+
+    private volatile int threshold;
+
+    CachedLevel(int threshold) {
+        this.threshold = threshold;
+    }
+
+    /**
+     * @return cached level of the logger, or {@code null} if its binding cannot notify about changes
+     */
+    public static CachedLevel of(Logger logger) {
+        return Emitters.LOGBACK ? LogbackLevels.cache(logger) : null;
+    }
+
+    void update(int threshold) {
+        this.threshold = threshold;
+    }
+
+    public boolean isTraceEnabled() {
+        return threshold <= TRACE;
+    }
+
+    public boolean isDebugEnabled() {
+        return threshold <= DEBUG;
+    }
+
+    public boolean isInfoEnabled() {
+        return threshold <= INFO;
+    }
+
+    public boolean isWarnEnabled() {
+        return threshold <= WARN;
+    }
+
+    public boolean isErrorEnabled() {
+        return threshold <= ERROR;
+    }
+}
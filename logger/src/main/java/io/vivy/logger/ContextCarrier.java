@@ -0,0 +1,55 @@
+package io.vivy.logger;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Holder of the {@link ScopedContext} of the current thread, a thread local up to Java 24.
+ * <p>
+ * The multi-release jar replaces this class by one based on {@code ScopedValue} for Java 25 and
+ * later, both have the same members.
+ */
+final class ContextCarrier {
+
+    private static final ThreadLocal<LogContext> CURRENT = new ThreadLocal<>();
+
+    private ContextCarrier() {
+    }
+
+    // a method, a constant would be inlined into callers compiled against the other version
+    static boolean isScopedValue() {
+        return false;
+    }
+
+    static LogContext current() {
+        LogContext context = CURRENT.get();
+        return context != null ? context : LogContext.empty();
+    }
+
+    static void run(LogContext context, Runnable task) {
+        LogContext previous = CURRENT.get();
+        CURRENT.set(context);
+        try {
+            task.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    static <T> T call(LogContext context, Callable<T> task) throws Exception {
+        LogContext previous = CURRENT.get();
+        CURRENT.set(context);
+        try {
+            return task.call();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    private static void restore(LogContext previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package io.vivy.logger;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable set of context values, rendered once when built and shared afterwards.
+ * <p>
+ * Meant for values which are the same for many events, e.g. per service, tenant or request.
+ * Adding a fragment to a {@link ContextLogger} is O(1) and it can be used from any thread.
+ *
+ * <pre>{@code
+ * ContextFragment tenant = ContextFragment.of(tenantAttributes).with("region", region);
+ * ContextLogger.of(log).with(tenant).event("order_created").info();
+ * }</pre>
+ */
+public final class ContextFragment {
+
+    private static final ContextFragment EMPTY = new ContextFragment(Collections.emptyMap());
+
+    private final Map<String, String> values;
+
+    private ContextFragment(Map<String, String> values) {
+        this.values = values;
+    }
+
+    public static ContextFragment empty() {
+        return EMPTY;
+    }
+
+    public static ContextFragment of(Map<String, ?> values) {
+        return EMPTY.with(values);
+    }
+
+    /**
+     * Copy of this fragment with the value added, meant for building a fragment and not for hot paths.
+     */
+    public ContextFragment with(String key, Object value) {
+        return with(Collections.singletonMap(key, value));
+    }
+
+    /**
+     * Copy of this fragment with all values added, the added ones override existing keys.
+     */
+    public ContextFragment with(Map<String, ?> values) {
+        Map<String, String> copy = new HashMap<>(this.values);
+        values.forEach((key, value) -> copy.put(key, LogContext.render(value)));
+        return new ContextFragment(Collections.unmodifiableMap(copy));
+    }
+
+    /**
+     * Rendered values, unmodifiable.
+     */
+    public Map<String, String> toMap() {
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return values.toString();
+    }
+}
@@ -3,6 +3,10 @@ package io.vivy.logger;
 
 import io.vivy.logger.generator.annotations.GenerateContextLogger;
 import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+import java.util.Map;
+import java.util.function.Supplier;
 
 @GenerateContextLogger
 public interface ContextLogger extends Logger {
@@ -11,11 +15,55 @@ public interface ContextLogger extends Logger {
         return new MDCLogger(logger);
     }
 
+    /**
+     * @param emitter backend used instead of the MDC, e.g. {@link Emitters#events()}
+     */
+    static ContextLogger of(Logger logger, Emitter emitter) {
+        return new MDCLogger(logger, emitter);
+    }
+
     default ContextLogger event(String event) {
         return with("event", event);
     }
 
     ContextLogger with(String key, Object value);
+
+    /**
+     * Primitive values are kept unboxed and only rendered when an event is logged.
+     */
+    ContextLogger with(String key, long value);
+
+    ContextLogger with(String key, int value);
+
+    ContextLogger with(String key, double value);
+
+    ContextLogger with(String key, float value);
+
+    ContextLogger with(String key, boolean value);
+
+    ContextLogger with(String key, char value);
+
+    /**
+     * Adds a value which is expensive to compute, it is only evaluated when an event is actually logged.
+     */
+    ContextLogger with(String key, Supplier<?> value);
+
+    /**
+     * Adds all values of a prebuilt fragment, in constant time.
+     */
+    ContextLogger with(ContextFragment fragment);
+
+    /**
+     * Adds all values of another context in constant time, e.g. one carried along with a request.
+     */
+    ContextLogger with(LogContext context);
+
+    /**
+     * Adds all values of the map in constant time, they are rendered when an event is logged.
+     * The map must not be modified afterwards.
+     */
+    ContextLogger with(Map<String, ?> values);
+
     ContextLogger with(String k1, Object v1, String k2, Object v2);
     ContextLogger with(
             String k1, Object v1,
@@ -36,6 +84,57 @@ public interface ContextLogger extends Logger {
             String k5, Object v5
     );
 
+    /**
+     * Same logger, but level checks read an effective level cached by {@link CachedLevel}.
+     * Without Logback this is a plain copy of the logger.
+     */
+    ContextLogger cachingLevels();
+
+    /**
+     * Immutable context of this logger, it can be passed along and shared between threads.
+     */
+    LogContext context();
+
+    /**
+     * Installs the context into the MDC until the returned scope is closed, calls of this logger
+     * inside the scope don't touch the MDC anymore.
+     */
+    default ContextScope open() {
+        return ContextScope.open(context());
+    }
+
+    /**
+     * Logger bound to the level, a shared instance ignoring every call if the level is disabled.
+     * Checked once, when this method is called. While {@link LevelOverrides} are active, a disabled
+     * level is checked again when logging, as values added afterwards may match an override.
+     */
+    default LevelLogger at(Level level) {
+        if (EnabledLevelLogger.check(this, level)) {
+            return new EnabledLevelLogger(this, level, true);
+        }
+        return LevelOverrides.isActive() ? new EnabledLevelLogger(this, level, false) : LevelLogger.disabled();
+    }
+
+    default LevelLogger atTrace() {
+        return at(Level.TRACE);
+    }
+
+    default LevelLogger atDebug() {
+        return at(Level.DEBUG);
+    }
+
+    default LevelLogger atInfo() {
+        return at(Level.INFO);
+    }
+
+    default LevelLogger atWarn() {
+        return at(Level.WARN);
+    }
+
+    default LevelLogger atError() {
+        return at(Level.ERROR);
+    }
+
     default void trace() {
         trace("");
     }
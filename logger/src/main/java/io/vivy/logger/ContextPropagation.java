@@ -0,0 +1,130 @@
+package io.vivy.logger;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Carries a {@link LogContext} to other threads by reference and installs it there as a
+ * {@link ContextScope} for the duration of the task.
+ * <p>
+ * The context of a task is the one of the current {@link ContextScope} of the submitting thread,
+ * with the MDC and the {@link ScopedContext} of that thread linked beneath it. Nothing is copied,
+ * the MDC map of Logback is replaced rather than modified, other bindings copy it. Works the same
+ * for platform and virtual threads.
+ * <p>
+ * {@code *Async} stages of a {@link java.util.concurrent.CompletableFuture} without an executor run
+ * on the common pool, which knows nothing of the context. Either pass a wrapped executor or wrap
+ * each stage with {@link #supplier}, {@link #function}, {@link #consumer} or {@link #runnable}.
+ *
+ * <pre>{@code
+ * ExecutorService executor = ContextPropagation.wrap(Executors.newFixedThreadPool(8));
+ * try (ContextScope scope = logger.open()) {
+ *     CompletableFuture.supplyAsync(() -> load(id), executor)
+ *             .thenApplyAsync(this::enrich, executor);
+ * }
+ * }</pre>
+ */
+public final class ContextPropagation {
+
+    private ContextPropagation() {
+    }
+
+    /**
+     * @return context to carry to another thread, {@code null} if there is none
+     */
+    public static LogContext current() {
+        ContextScope scope = ContextScope.current();
+        // inside a scope the MDC holds the context of the scope already, what was there before goes beneath it
+        LogContext context = scope == null
+                ? MdcSupport.capture(LogContext.empty())
+                : MdcSupport.capture(scope.previous(), scope.context());
+        return context.isEmpty() ? null : context;
+    }
+
+    @SuppressWarnings("try")
+    public static Runnable runnable(LogContext context, Runnable task) {
+        if (context == null || context.isEmpty()) {
+            return task;
+        }
+        return () -> {
+            try (ContextScope scope = ContextScope.open(context)) {
+                task.run();
+            }
+        };
+    }
+
+    @SuppressWarnings("try")
+    public static <T> Callable<T> callable(LogContext context, Callable<T> task) {
+        if (context == null || context.isEmpty()) {
+            return task;
+        }
+        return () -> {
+            try (ContextScope scope = ContextScope.open(context)) {
+                return task.call();
+            }
+        };
+    }
+
+    /**
+     * For {@link java.util.concurrent.CompletableFuture#supplyAsync(Supplier, Executor)} and alike.
+     */
+    @SuppressWarnings("try")
+    public static <T> Supplier<T> supplier(LogContext context, Supplier<T> task) {
+        if (context == null || context.isEmpty()) {
+            return task;
+        }
+        return () -> {
+            try (ContextScope scope = ContextScope.open(context)) {
+                return task.get();
+            }
+        };
+    }
+
+    /**
+     * For {@link java.util.concurrent.CompletableFuture#thenApplyAsync(Function)} and alike.
+     */
+    @SuppressWarnings("try")
+    public static <T, R> Function<T, R> function(LogContext context, Function<T, R> task) {
+        if (context == null || context.isEmpty()) {
+            return task;
+        }
+        return value -> {
+            try (ContextScope scope = ContextScope.open(context)) {
+                return task.apply(value);
+            }
+        };
+    }
+
+    /**
+     * For {@link java.util.concurrent.CompletableFuture#thenAcceptAsync(Consumer)} and alike.
+     */
+    @SuppressWarnings("try")
+    public static <T> Consumer<T> consumer(LogContext context, Consumer<T> task) {
+        if (context == null || context.isEmpty()) {
+            return task;
+        }
+        return value -> {
+            try (ContextScope scope = ContextScope.open(context)) {
+                task.accept(value);
+            }
+        };
+    }
+
+    /**
+     * Every task runs with the context of the scope it was submitted in.
+     */
+    public static Executor wrap(Executor executor) {
+        return task -> executor.execute(runnable(current(), task));
+    }
+
+    /**
+     * Every task runs with the context of the scope it was submitted in.
+     */
+    public static ExecutorService wrap(ExecutorService executor) {
+        return new ContextExecutorService(executor);
+    }
+}
@@ -0,0 +1,73 @@
+package io.vivy.logger;
+
+import java.util.Map;
+
+/**
+ * Context installed into the MDC of the current thread until the scope is closed.
+ * <p>
+ * Plain SLF4J loggers see the context inside the scope as well, and the generated loggers skip
+ * their own MDC work as long as the context they would install is the one of the current scope,
+ * unless it holds suppliers or mutable values, which are rendered again for every line. Plain
+ * SLF4J loggers see them as rendered when the scope was opened.
+ * Scopes nest and must be closed in reverse order on the thread which opened them, the MDC must
+ * not be cleared inside a scope.
+ *
+ * <pre>{@code
+ * try (ContextScope scope = logger.open()) {
+ *     items.forEach(item -> logger.info("processing {}", item));
+ * }
+ * }</pre>
+ */
+public final class ContextScope implements AutoCloseable {
+
+    private static final ThreadLocal<ContextScope> CURRENT = new ThreadLocal<>();
+
+    private final ContextScope parent;
+    private final LogContext context;
+    private final Map<String, String> previous;
+
+    private ContextScope(ContextScope parent, LogContext context, Map<String, String> previous) {
+        this.parent = parent;
+        this.context = context;
+        this.previous = previous;
+    }
+
+    public static ContextScope open(LogContext context) {
+        Map<String, String> previous = MdcSupport.install(context);
+        ContextScope scope = new ContextScope(CURRENT.get(), context, previous);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * @return innermost scope of the current thread, {@code null} if there is none
+     */
+    public static ContextScope current() {
+        return CURRENT.get();
+    }
+
+    public LogContext context() {
+        return context;
+    }
+
+    /**
+     * @return MDC of the thread before the scope was opened, not to be modified
+     */
+    Map<String, String> previous() {
+        return previous;
+    }
+
+    @Override
+    public void close() {
+        if (CURRENT.get() != this) {
+            throw new IllegalStateException("Scopes must be closed in reverse order on the thread which opened them");
+        }
+
+        if (parent == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(parent);
+        }
+        MdcSupport.restore(previous);
+    }
+}
@@ -0,0 +1,103 @@
+package io.vivy.logger;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Stateless {@link LevelLogger} for disabled levels, every call returns the same instance.
+ */
+final class DisabledLevelLogger implements LevelLogger {
+
+    static final DisabledLevelLogger INSTANCE = new DisabledLevelLogger();
+
+    private DisabledLevelLogger() {
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public LevelLogger event(String event) {
+        return this;
+    }
+
+    @Override
+    public LevelLogger with(String key, Object value) {
+        return this;
+    }
+
+    @Override
+    public LevelLogger with(String key, Supplier<?> value) {
+        return this;
+    }
+
+    @Override
+    public LevelLogger with(String key, long value) {
+        return this;
+    }
+
+    @Override
+    public LevelLogger with(String key, int value) {
+        return this;
+    }
+
+    @Override
+    public LevelLogger with(String key, double value) {
+        return this;
+    }
+
+    @Override
+    public LevelLogger with(String key, float value) {
+        return this;
+    }
+
+    @Override
+    public LevelLogger with(String key, boolean value) {
+        return this;
+    }
+
+    @Override
+    public LevelLogger with(String key, char value) {
+        return this;
+    }
+
+    @Override
+    public LevelLogger with(ContextFragment fragment) {
+        return this;
+    }
+
+    @Override
+    public LevelLogger with(Map<String, ?> values) {
+        return this;
+    }
+
+    @Override
+    public void log() {
+    }
+
+    @Override
+    public void log(String message) {
+    }
+
+    @Override
+    public void log(String message, Object argument) {
+    }
+
+    @Override
+    public void log(String message, Object first, Object second) {
+    }
+
+    @Override
+    public void log(String message, Object... arguments) {
+    }
+
+    @Override
+    public void log(String message, Throwable throwable) {
+    }
+
+    @Override
+    public void log(Throwable throwable) {
+    }
+}
@@ -0,0 +1,53 @@
+package io.vivy.logger;
+
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+import org.slf4j.event.Level;
+
+/**
+ * Backend which hands an event of a {@link ContextLogger} over to the logging framework.
+ * <p>
+ * Without an emitter the generated logger installs its context into the {@link org.slf4j.MDC} around
+ * every call. Implementations are invoked only after the level check passed, they are shared between
+ * loggers and threads and must be stateless or thread-safe.
+ *
+ * @see Emitters
+ */
+public interface Emitter {
+
+    /**
+     * @param marker    marker of the call, may be {@code null}
+     * @param arguments format arguments, may be {@code null}
+     * @param throwable explicitly passed throwable, may be {@code null}
+     */
+    void emit(
+            Logger logger,
+            Level level,
+            Marker marker,
+            String message,
+            Object[] arguments,
+            Throwable throwable,
+            LogContext context
+    );
+
+    /**
+     * Same as {@link #emit(Logger, Level, Marker, String, Object[], Throwable, LogContext)}, but a
+     * decided level, e.g. one only a {@link LevelOverrides level override} enables, must not be
+     * checked against the logger again. Decorators pass the flag on to their delegate, the
+     * emitters of {@link Emitters} skip the level check of Logback for it.
+     *
+     * @param levelDecided whether the event is logged even though the logger's level rejects it
+     */
+    default void emit(
+            Logger logger,
+            Level level,
+            Marker marker,
+            String message,
+            Object[] arguments,
+            Throwable throwable,
+            LogContext context,
+            boolean levelDecided
+    ) {
+        emit(logger, level, marker, message, arguments, throwable, context);
+    }
+}
@@ -0,0 +1,38 @@
+package io.vivy.logger;
+
+/**
+ * Available {@link Emitter} implementations, to be passed to {@link ContextLogger#of(org.slf4j.Logger, Emitter)}.
+ */
+public final class Emitters {
+
+    static final boolean LOGBACK = isPresent("ch.qos.logback.classic.Logger");
+
+    private Emitters() {
+    }
+
+    /**
+     * Installs the context into the MDC around the call, same as the default of {@link ContextLogger#of(org.slf4j.Logger)}.
+     */
+    public static Emitter mdc() {
+        return MdcEmitter.INSTANCE;
+    }
+
+    /**
+     * Builds Logback events directly and attaches the context as their MDC property map, the
+     * thread local MDC is only read to merge values put there by someone else.
+     * <p>
+     * Falls back to {@link #mdc()} for loggers not backed by Logback.
+     */
+    public static Emitter events() {
+        return LOGBACK ? LogbackEventEmitter.INSTANCE : MdcEmitter.INSTANCE;
+    }
+
+    private static boolean isPresent(String className) {
+        try {
+            Class.forName(className, false, Emitters.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
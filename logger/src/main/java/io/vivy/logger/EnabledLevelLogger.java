@@ -0,0 +1,213 @@
+package io.vivy.logger;
+
+import org.slf4j.event.Level;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * {@link LevelLogger} for an enabled level, logs through a {@link ContextLogger} at that level.
+ * Also used for a disabled level while {@link LevelOverrides} are active, the logger then decides
+ * with the complete context whether the line is emitted.
+ */
+final class EnabledLevelLogger implements LevelLogger {
+
+    private final ContextLogger logger;
+    private final Level level;
+
+    /**
+     * Whether the level was enabled without looking at the context added afterwards.
+     */
+    private final boolean enabled;
+
+    EnabledLevelLogger(ContextLogger logger, Level level, boolean enabled) {
+        this.logger = logger;
+        this.level = level;
+        this.enabled = enabled;
+    }
+
+    static boolean check(ContextLogger logger, Level level) {
+        switch (level) {
+            case TRACE:
+                return logger.isTraceEnabled();
+            case DEBUG:
+                return logger.isDebugEnabled();
+            case INFO:
+                return logger.isInfoEnabled();
+            case WARN:
+                return logger.isWarnEnabled();
+            default:
+                return logger.isErrorEnabled();
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled || check(logger, level);
+    }
+
+    @Override
+    public LevelLogger event(String event) {
+        return new EnabledLevelLogger(logger.event(event), level, enabled);
+    }
+
+    @Override
+    public LevelLogger with(String key, Object value) {
+        return new EnabledLevelLogger(logger.with(key, value), level, enabled);
+    }
+
+    @Override
+    public LevelLogger with(String key, Supplier<?> value) {
+        return new EnabledLevelLogger(logger.with(key, value), level, enabled);
+    }
+
+    @Override
+    public LevelLogger with(String key, long value) {
+        return new EnabledLevelLogger(logger.with(key, value), level, enabled);
+    }
+
+    @Override
+    public LevelLogger with(String key, int value) {
+        return new EnabledLevelLogger(logger.with(key, value), level, enabled);
+    }
+
+    @Override
+    public LevelLogger with(String key, double value) {
+        return new EnabledLevelLogger(logger.with(key, value), level, enabled);
+    }
+
+    @Override
+    public LevelLogger with(String key, float value) {
+        return new EnabledLevelLogger(logger.with(key, value), level, enabled);
+    }
+
+    @Override
+    public LevelLogger with(String key, boolean value) {
+        return new EnabledLevelLogger(logger.with(key, value), level, enabled);
+    }
+
+    @Override
+    public LevelLogger with(String key, char value) {
+        return new EnabledLevelLogger(logger.with(key, value), level, enabled);
+    }
+
+    @Override
+    public LevelLogger with(ContextFragment fragment) {
+        return new EnabledLevelLogger(logger.with(fragment), level, enabled);
+    }
+
+    @Override
+    public LevelLogger with(Map<String, ?> values) {
+        return new EnabledLevelLogger(logger.with(values), level, enabled);
+    }
+
+    @Override
+    public void log() {
+        log("");
+    }
+
+    @Override
+    public void log(String message) {
+        switch (level) {
+            case TRACE:
+                logger.trace(message);
+                break;
+            case DEBUG:
+                logger.debug(message);
+                break;
+            case INFO:
+                logger.info(message);
+                break;
+            case WARN:
+                logger.warn(message);
+                break;
+            default:
+                logger.error(message);
+        }
+    }
+
+    @Override
+    public void log(String message, Object argument) {
+        switch (level) {
+            case TRACE:
+                logger.trace(message, argument);
+                break;
+            case DEBUG:
+                logger.debug(message, argument);
+                break;
+            case INFO:
+                logger.info(message, argument);
+                break;
+            case WARN:
+                logger.warn(message, argument);
+                break;
+            default:
+                logger.error(message, argument);
+        }
+    }
+
+    @Override
+    public void log(String message, Object first, Object second) {
+        switch (level) {
+            case TRACE:
+                logger.trace(message, first, second);
+                break;
+            case DEBUG:
+                logger.debug(message, first, second);
+                break;
+            case INFO:
+                logger.info(message, first, second);
+                break;
+            case WARN:
+                logger.warn(message, first, second);
+                break;
+            default:
+                logger.error(message, first, second);
+        }
+    }
+
+    @Override
+    public void log(String message, Object... arguments) {
+        switch (level) {
+            case TRACE:
+                logger.trace(message, arguments);
+                break;
+            case DEBUG:
+                logger.debug(message, arguments);
+                break;
+            case INFO:
+                logger.info(message, arguments);
+                break;
+            case WARN:
+                logger.warn(message, arguments);
+                break;
+            default:
+                logger.error(message, arguments);
+        }
+    }
+
+    @Override
+    public void log(String message, Throwable throwable) {
+        switch (level) {
+            case TRACE:
+                logger.trace(message, throwable);
+                break;
+            case DEBUG:
+                logger.debug(message, throwable);
+                break;
+            case INFO:
+                logger.info(message, throwable);
+                break;
+            case WARN:
+                logger.warn(message, throwable);
+                break;
+            default:
+                logger.error(message, throwable);
+        }
+    }
+
+    @Override
+    public void log(Throwable throwable) {
+        log("", throwable);
+    }
+}
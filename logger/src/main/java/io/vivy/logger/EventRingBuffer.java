@@ -0,0 +1,135 @@
+package io.vivy.logger;
+
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+import org.slf4j.event.Level;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded, lock-free, multi-producer single-consumer ring of preallocated events.
+ * <p>
+ * Every slot has a sequence number: a producer claims a slot by a CAS on the tail once the
+ * sequence says it is free, fills the event in place and publishes it by advancing the sequence.
+ * The consumer reads published events in order and hands the slot back the same way. Nothing is
+ * allocated per event.
+ */
+final class EventRingBuffer {
+
+    private final Event[] events;
+    private final AtomicLongArray sequences;
+    private final int mask;
+
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+
+    EventRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two, got " + capacity);
+        }
+
+        this.events = new Event[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+
+        for (int i = 0; i < capacity; i++) {
+            events[i] = new Event();
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return {@code false} if the ring is full
+     */
+    boolean offer(Logger logger, Level level, Marker marker, String message, Object[] arguments, Throwable throwable, LogContext context,
+                  boolean levelDecided, long timestamp, String threadName) {
+        long position = tail.get();
+        int index;
+        for (; ; ) {
+            index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+
+        Event event = events[index];
+        event.logger = logger;
+        event.level = level;
+        event.marker = marker;
+        event.message = message;
+        event.arguments = arguments;
+        event.throwable = throwable;
+        event.context = context;
+        event.levelDecided = levelDecided;
+        event.timestamp = timestamp;
+        event.threadName = threadName;
+
+        sequences.lazySet(index, position + 1);
+        return true;
+    }
+
+    /**
+     * Emits the next published event, only ever called by the consumer thread, which is told
+     * where the event comes from for the duration of the call.
+     *
+     * @return {@code false} if there was none
+     */
+    boolean poll(Emitter emitter, AsyncEmitter.Worker worker) {
+        long position = head;
+        int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) {
+            return false;
+        }
+
+        Event event = events[index];
+        worker.timestamp = event.timestamp;
+        worker.threadName = event.threadName;
+        try {
+            emitter.emit(event.logger, event.level, event.marker, event.message, event.arguments, event.throwable, event.context, event.levelDecided);
+        } finally {
+            worker.threadName = null;
+            event.clear();
+            head = position + 1;
+            sequences.lazySet(index, position + mask + 1);
+        }
+        return true;
+    }
+
+    boolean isEmpty() {
+        return sequences.get((int) (head & mask)) != head + 1;
+    }
+
+    private static final class Event {
+        private Logger logger;
+        private Level level;
+        private Marker marker;
+        private String message;
+        private Object[] arguments;
+        private Throwable throwable;
+        private LogContext context;
+        private boolean levelDecided;
+        private long timestamp;
+        private String threadName;
+
+        private void clear() {
+            logger = null;
+            level = null;
+            marker = null;
+            message = null;
+            arguments = null;
+            throwable = null;
+            context = null;
+            threadName = null;
+        }
+    }
+}
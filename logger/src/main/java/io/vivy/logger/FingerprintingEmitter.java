@@ -0,0 +1,222 @@
+package io.vivy.logger;
+
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+import org.slf4j.event.Level;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Renders each distinct stack trace once per window before events reach another {@link Emitter}.
+ * Throwables are fingerprinted by their type and top stack frames, the message is not part of it.
+ * <p>
+ * The first occurrence of a fingerprint is emitted with the throwable and opens a window. Repeats
+ * within the window are emitted without it, so the delegate does not format the trace again, and
+ * carry {@code exception_count} instead. Both have {@code exception_id}, which tells the repeats
+ * and their full trace apart. A throwable passed as the last format argument is treated the same.
+ * <p>
+ * Fingerprints live in a concurrent table of bounded size, ended windows are dropped on the next
+ * event after each window length. While the table is full of open windows, new fingerprints are
+ * emitted with the full trace every time.
+ *
+ * <pre>{@code
+ * Emitter emitter = FingerprintingEmitter.builder(Emitters.events())
+ *         .frames(8)
+ *         .window(Duration.ofMinutes(1))
+ *         .build();
+ * }</pre>
+ */
+public final class FingerprintingEmitter implements Emitter {
+
+    private static final String ID = "exception_id";
+    private static final String COUNT = "exception_count";
+
+    private final Emitter delegate;
+    private final int frames;
+    private final long windowMillis;
+    private final int maxFingerprints;
+    private final Map<Fingerprint, Window> windows = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep;
+
+    private FingerprintingEmitter(Emitter delegate, int frames, long windowMillis, int maxFingerprints) {
+        this.delegate = delegate;
+        this.frames = frames;
+        this.windowMillis = windowMillis;
+        this.maxFingerprints = maxFingerprints;
+        this.nextSweep = new AtomicLong(System.currentTimeMillis() + windowMillis);
+    }
+
+    /**
+     * @param delegate emits the events, e.g. {@link Emitters#events()}
+     */
+    public static Builder builder(Emitter delegate) {
+        return new Builder(delegate);
+    }
+
+    @Override
+    public void emit(Logger logger, Level level, Marker marker, String message, Object[] arguments, Throwable throwable, LogContext context) {
+        emit(logger, level, marker, message, arguments, throwable, context, false);
+    }
+
+    @Override
+    public void emit(Logger logger, Level level, Marker marker, String message, Object[] arguments, Throwable throwable, LogContext context, boolean levelDecided) {
+        boolean trailing = throwable == null && arguments != null && arguments.length > 0 && arguments[arguments.length - 1] instanceof Throwable;
+        Throwable thrown = trailing ? (Throwable) arguments[arguments.length - 1] : throwable;
+        if (thrown == null) {
+            delegate.emit(logger, level, marker, message, arguments, throwable, context, levelDecided);
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        Fingerprint fingerprint = new Fingerprint(thrown, frames);
+
+        for (;;) {
+            Window window = windows.get(fingerprint);
+            if (window == null) {
+                if (windows.size() >= maxFingerprints) {
+                    sweep(now);
+                    if (windows.size() >= maxFingerprints) {
+                        delegate.emit(logger, level, marker, message, arguments, throwable, context.with(ID, fingerprint.id()), levelDecided);
+                        return;
+                    }
+                }
+                window = new Window(fingerprint.id(), now + windowMillis);
+                if (windows.putIfAbsent(fingerprint, window) == null) {
+                    delegate.emit(logger, level, marker, message, arguments, throwable, context.with(ID, window.id), levelDecided);
+                    break;
+                }
+            } else if (now < window.end) {
+                long count = window.count.incrementAndGet();
+                Object[] remaining = trailing ? Arrays.copyOf(arguments, arguments.length - 1) : arguments;
+                delegate.emit(logger, level, marker, message, remaining, null, context.with(ID, window.id).with(COUNT, count), levelDecided);
+                break;
+            } else {
+                windows.remove(fingerprint, window);
+            }
+        }
+
+        long sweep = nextSweep.get();
+        if (now >= sweep && nextSweep.compareAndSet(sweep, now + windowMillis)) {
+            sweep(now);
+        }
+    }
+
+    /**
+     * Number of fingerprints with an open or not yet dropped window.
+     */
+    public int fingerprints() {
+        return windows.size();
+    }
+
+    private void sweep(long now) {
+        windows.forEach((fingerprint, window) -> {
+            if (now >= window.end) {
+                windows.remove(fingerprint, window);
+            }
+        });
+    }
+
+    public static final class Builder {
+
+        private final Emitter delegate;
+        private int frames = 5;
+        private Duration window = Duration.ofMinutes(1);
+        private int maxFingerprints = 1_000;
+
+        private Builder(Emitter delegate) {
+            this.delegate = delegate;
+        }
+
+        /**
+         * Number of top stack frames in a fingerprint, 5 by default.
+         */
+        public Builder frames(int frames) {
+            if (frames < 1) {
+                throw new IllegalArgumentException("At least one frame is needed, was " + frames);
+            }
+            this.frames = frames;
+            return this;
+        }
+
+        /**
+         * How long repeats are logged without their trace, 1 minute by default.
+         */
+        public Builder window(Duration window) {
+            if (window.isNegative() || window.isZero()) {
+                throw new IllegalArgumentException("Window must be positive: " + window);
+            }
+            this.window = window;
+            return this;
+        }
+
+        /**
+         * Maximum number of fingerprints remembered, 1 000 by default.
+         */
+        public Builder maxFingerprints(int maxFingerprints) {
+            if (maxFingerprints < 1) {
+                throw new IllegalArgumentException("At least one fingerprint is needed, was " + maxFingerprints);
+            }
+            this.maxFingerprints = maxFingerprints;
+            return this;
+        }
+
+        public FingerprintingEmitter build() {
+            return new FingerprintingEmitter(delegate, frames, window.toMillis(), maxFingerprints);
+        }
+    }
+
+    private static final class Fingerprint {
+        private final Class<?> type;
+        private final StackTraceElement[] frames;
+        private final long hash;
+
+        Fingerprint(Throwable throwable, int frames) {
+            StackTraceElement[] trace = throwable.getStackTrace();
+            this.type = throwable.getClass();
+            this.frames = trace.length > frames ? Arrays.copyOf(trace, frames) : trace;
+
+            long hash = type.getName().hashCode();
+            for (StackTraceElement frame : this.frames) {
+                hash = (hash ^ frame.hashCode()) * 0x9E3779B97F4A7C15L;
+            }
+            this.hash = hash ^ (hash >>> 31);
+        }
+
+        String id() {
+            String hex = Long.toHexString(hash);
+            return "0000000000000000".substring(hex.length()) + hex;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Fingerprint)) {
+                return false;
+            }
+            Fingerprint other = (Fingerprint) o;
+            return hash == other.hash && type == other.type && Arrays.equals(frames, other.frames);
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) hash;
+        }
+    }
+
+    private static final class Window {
+        private final String id;
+        private final long end;
+        private final AtomicLong count = new AtomicLong(1);
+
+        Window(String id, long end) {
+            this.id = id;
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package io.vivy.logger;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Context logger bound to one level, obtained with {@link ContextLogger#atDebug()} and friends.
+ * <p>
+ * If the level is disabled, a shared instance which ignores every call is returned, neither
+ * building the context nor logging allocates anything then. While {@link LevelOverrides} are
+ * active, the context is built anyway and the level checked again when logging:
+ *
+ * <pre>{@code
+ * log.atDebug().event("item_processed").with("item", item.getId()).log("took {} ms", elapsed);
+ * }</pre>
+ */
+public interface LevelLogger {
+
+    /**
+     * Shared instance for disabled levels.
+     */
+    static LevelLogger disabled() {
+        return DisabledLevelLogger.INSTANCE;
+    }
+
+    boolean isEnabled();
+
+    LevelLogger event(String event);
+
+    LevelLogger with(String key, Object value);
+
+    LevelLogger with(String key, Supplier<?> value);
+
+    LevelLogger with(String key, long value);
+
+    LevelLogger with(String key, int value);
+
+    LevelLogger with(String key, double value);
+
+    LevelLogger with(String key, float value);
+
+    LevelLogger with(String key, boolean value);
+
+    LevelLogger with(String key, char value);
+
+    LevelLogger with(ContextFragment fragment);
+
+    LevelLogger with(Map<String, ?> values);
+
+    void log();
+
+    void log(String message);
+
+    void log(String message, Object argument);
+
+    void log(String message, Object first, Object second);
+
+    void log(String message, Object... arguments);
+
+    void log(String message, Throwable throwable);
+
+    void log(Throwable throwable);
+}
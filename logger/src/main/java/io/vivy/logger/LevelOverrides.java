@@ -0,0 +1,134 @@
+package io.vivy.logger;
+
+import org.slf4j.event.Level;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Enables lower levels for events whose context has one of the given values, e.g. {@code DEBUG}
+ * for a single user in production. Generated loggers consult the overrides only for calls below
+ * the level of their delegate.
+ * <p>
+ * Overrides are kept in an immutable index which is replaced as a whole on every change, so a
+ * check is lock-free. While there are none, it costs one volatile read.
+ * <p>
+ * Events which only an override enabled are emitted through the emitter of the logger, told that
+ * their level is decided, and skip the level check and turbo filters of Logback on their way to the
+ * appenders. Other bindings can't be bypassed, without Logback overrides never enable anything.
+ * <p>
+ * {@link ContextLogger#at(Level)} returns the shared disabled instance only while no override is
+ * active, otherwise the level is checked again with the context complete when the line is logged.
+ *
+ * <pre>{@code
+ * LevelOverrides.enable("user_id", 42, Level.DEBUG);
+ * ...
+ * LevelOverrides.disable("user_id", 42);
+ * }</pre>
+ */
+public final class LevelOverrides {
+
+    private static volatile Index current;
+
+    private LevelOverrides() {
+    }
+
+    /**
+     * Logs events with the value down to the level, replaces an earlier override of the value.
+     *
+     * @param value compared with the rendered value in the context
+     */
+    public static synchronized void enable(String key, Object value, Level level) {
+        Map<String, Map<String, Level>> overrides = active();
+        overrides.computeIfAbsent(key, it -> new HashMap<>()).put(String.valueOf(value), level);
+        current = new Index(overrides);
+    }
+
+    public static synchronized void disable(String key, Object value) {
+        Map<String, Map<String, Level>> overrides = active();
+        Map<String, Level> values = overrides.get(key);
+        if (values != null && values.remove(String.valueOf(value)) != null) {
+            if (values.isEmpty()) {
+                overrides.remove(key);
+            }
+            current = overrides.isEmpty() ? null : new Index(overrides);
+        }
+    }
+
+    public static synchronized void disableAll() {
+        current = null;
+    }
+
+    /**
+     * @return copy of the overrides by key and value
+     */
+    public static Map<String, Map<String, Level>> active() {
+        Index index = current;
+        Map<String, Map<String, Level>> overrides = new HashMap<>();
+        if (index != null) {
+            for (int i = 0; i < index.keys.length; i++) {
+                overrides.put(index.keys[i], new HashMap<>(index.values.get(i)));
+            }
+        }
+        return overrides;
+    }
+
+    /**
+     * @return whether any override is active and can enable a level at all
+     */
+    public static boolean isActive() {
+        return current != null && Emitters.LOGBACK;
+    }
+
+    /**
+     * Whether an override enables the level for the context of the logger, called by generated
+     * loggers after their delegate rejected the level.
+     */
+    public static boolean isEnabled(Level level, ContextLogger logger) {
+        Index index = current;
+        return index != null && Emitters.LOGBACK && index.isEnabled(level, logger.context());
+    }
+
+    /**
+     * Emitter for the events which only an override enabled, called by generated loggers which
+     * have none of their own.
+     */
+    public static Emitter emitter() {
+        return Emitters.events();
+    }
+
+    private static final class Index {
+        private final String[] keys;
+        private final List<Map<String, Level>> values;
+
+        Index(Map<String, Map<String, Level>> overrides) {
+            this.keys = new String[overrides.size()];
+            this.values = new ArrayList<>(overrides.size());
+            int i = 0;
+            for (Map.Entry<String, Map<String, Level>> entry : overrides.entrySet()) {
+                keys[i++] = entry.getKey();
+                values.add(Collections.unmodifiableMap(new HashMap<>(entry.getValue())));
+            }
+        }
+
+        boolean isEnabled(Level level, LogContext context) {
+            if (context.isEmpty()) {
+                return false;
+            }
+            for (int i = 0; i < keys.length; i++) {
+                String value = context.get(keys[i]);
+                if (value == null) {
+                    continue;
+                }
+                Level enabled = values.get(i).get(value);
+                if (enabled != null && enabled.toInt() <= level.toInt()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package io.vivy.logger;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Immutable, structure-sharing context of a {@link ContextLogger}.
+ * <p>
+ * Every {@link #with(String, Object)} links one entry in front of the existing chain, so extending
+ * a context is O(1) and never copies what is already there. The chain is flattened only when an
+ * event is emitted, entries added later override earlier ones with the same key.
+ * <p>
+ * Values are kept as they were passed in and rendered with {@link String#valueOf(Object)} at that
+ * point too, so neither {@code toString()} nor a {@link Supplier} runs for events dropped by a
+ * level check. Mutable values are therefore rendered in the state they have when logged.
+ * <p>
+ * Whole maps, {@link ContextFragment}s and other contexts are linked as a single entry as well,
+ * merging them is O(1) no matter how many values they hold.
+ * <p>
+ * Primitive values are stored unboxed and rendered like their boxed counterparts.
+ */
+public class LogContext {
+
+    private static final byte VALUE = 0;
+    private static final byte SUPPLIED = 1;
+    private static final byte ENTRIES = 2;
+    private static final byte FRAGMENT = 3;
+    private static final byte LONG = 4;
+    private static final byte DOUBLE = 5;
+    private static final byte FLOAT = 6;
+    private static final byte BOOLEAN = 7;
+    private static final byte CHAR = 8;
+    private static final byte CONTEXT = 9;
+
+    private static final LogContext EMPTY = new LogContext(null, null, null, VALUE, 0);
+
+    private final LogContext parent;
+    private final String key;
+    private final Object value;
+    private final byte kind;
+
+    /**
+     * Number of values in the chain, including overridden ones.
+     */
+    private final int depth;
+
+    /**
+     * Whether the rendered chain can't change, so it is flattened only once.
+     */
+    private final boolean stable;
+
+    private volatile Map<String, String> flattened;
+
+    // private, the class is only extended by the primitive entries below
+    private LogContext(LogContext parent, String key, Object value, byte kind, int depth) {
+        this.parent = parent;
+        this.key = key;
+        this.value = value;
+        this.kind = kind;
+        this.depth = depth;
+        this.stable = parent == null || parent.stable && isStable(kind, value);
+    }
+
+    public static LogContext empty() {
+        return EMPTY;
+    }
+
+    public LogContext with(String key, Object value) {
+        return new LogContext(this, key, value, VALUE, depth + 1);
+    }
+
+    /**
+     * Same as {@link #with(String, Object)}, but the value is computed only when rendered.
+     */
+    public LogContext with(String key, Supplier<?> value) {
+        return new LogContext(this, key, value, SUPPLIED, depth + 1);
+    }
+
+    public LogContext with(String key, long value) {
+        return new Primitive(this, key, LONG, value);
+    }
+
+    public LogContext with(String key, int value) {
+        return new Primitive(this, key, LONG, value);
+    }
+
+    public LogContext with(String key, double value) {
+        return new Primitive(this, key, DOUBLE, Double.doubleToRawLongBits(value));
+    }
+
+    public LogContext with(String key, float value) {
+        return new Primitive(this, key, FLOAT, Float.floatToRawIntBits(value));
+    }
+
+    public LogContext with(String key, boolean value) {
+        return new Primitive(this, key, BOOLEAN, value ? 1 : 0);
+    }
+
+    public LogContext with(String key, char value) {
+        return new Primitive(this, key, CHAR, value);
+    }
+
+    /**
+     * Links the map itself, its values are rendered like any other value when the event is logged.
+     */
+    public LogContext with(Map<String, ?> values) {
+        return values.isEmpty() ? this : new LogContext(this, null, values, ENTRIES, depth + values.size());
+    }
+
+    public LogContext with(ContextFragment fragment) {
+        Map<String, String> values = fragment.toMap();
+        return values.isEmpty() ? this : new LogContext(this, null, values, FRAGMENT, depth + values.size());
+    }
+
+    /**
+     * Links the whole other context in constant time, its values override the ones of this context.
+     */
+    public LogContext with(LogContext other) {
+        if (other.isEmpty()) {
+            return this;
+        }
+        return isEmpty() ? other : new LogContext(this, null, other, CONTEXT, depth + other.depth);
+    }
+
+    public boolean isEmpty() {
+        return depth == 0;
+    }
+
+    /**
+     * Rendered value of the key, or {@code null} if it is not set. Walks the chain from the newest
+     * entry without flattening it, unless it is flattened already.
+     */
+    @SuppressWarnings("unchecked")
+    public String get(String key) {
+        Map<String, String> map = flattened;
+        if (map != null) {
+            return map.get(key);
+        }
+
+        for (LogContext it = this; it.depth > 0; it = it.parent) {
+            if (it.kind == CONTEXT) {
+                // null only if absent, a null value is rendered as "null"
+                String value = ((LogContext) it.value).get(key);
+                if (value != null) {
+                    return value;
+                }
+            } else if (it.kind == ENTRIES || it.kind == FRAGMENT) {
+                Map<String, ?> values = (Map<String, ?>) it.value;
+                if (values.containsKey(key)) {
+                    return render(values.get(key));
+                }
+            } else if (key.equals(it.key)) {
+                return it.rendered();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return whether the chain holds no suppliers, maps or mutable values, so it renders the same every time
+     */
+    boolean isStable() {
+        return stable;
+    }
+
+    /**
+     * Flattened view of the chain, computed once per context instance unless it holds suppliers,
+     * maps or mutable values, which are rendered anew every time.
+     */
+    public Map<String, String> toMap() {
+        Map<String, String> map = flattened;
+        if (map == null) {
+            map = flatten();
+            if (stable) {
+                flattened = map;
+            }
+        }
+        return map;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, String> flatten() {
+        if (isEmpty()) {
+            return Collections.emptyMap();
+        }
+        if (kind == FRAGMENT && parent.isEmpty()) {
+            // a fragment alone is already rendered and unmodifiable
+            return (Map<String, String>) value;
+        }
+
+        Map<String, String> map = new HashMap<>((int) (depth / 0.75f) + 1);
+        // newest entries come first, so the first value seen for a key is the one that wins
+        for (LogContext it = this; it.depth > 0; it = it.parent) {
+            if (it.kind == ENTRIES || it.kind == FRAGMENT || it.kind == CONTEXT) {
+                Map<String, ?> values = it.kind == CONTEXT ? ((LogContext) it.value).toMap() : (Map<String, ?>) it.value;
+                for (Map.Entry<String, ?> entry : values.entrySet()) {
+                    if (!map.containsKey(entry.getKey())) {
+                        map.put(entry.getKey(), render(entry.getValue()));
+                    }
+                }
+            } else if (!map.containsKey(it.key)) {
+                map.put(it.key, it.rendered());
+            }
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    private static boolean isStable(byte kind, Object value) {
+        switch (kind) {
+            case SUPPLIED:
+            case ENTRIES:
+                return false;
+            case CONTEXT:
+                return ((LogContext) value).stable;
+            case VALUE:
+                return value == null || value instanceof String || value instanceof Long || value instanceof Integer
+                        || value instanceof Boolean || value instanceof Double || value instanceof Float
+                        || value instanceof Character || value instanceof Short || value instanceof Byte
+                        || value instanceof Enum;
+            default:
+                // fragments and primitives are rendered already
+                return true;
+        }
+    }
+
+    /**
+     * Rendered value of a single entry.
+     */
+    String rendered() {
+        return render(kind == SUPPLIED && value != null ? ((Supplier<?>) value).get() : value);
+    }
+
+    static String render(Object value) {
+        return value instanceof String ? (String) value : String.valueOf(value);
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+
+    /**
+     * Entry with a primitive value, kept in its bits until rendered.
+     */
+    private static final class Primitive extends LogContext {
+        private final long bits;
+
+        private Primitive(LogContext parent, String key, byte kind, long bits) {
+            super(parent, key, null, kind, parent.depth + 1);
+            this.bits = bits;
+        }
+
+        @Override
+        String rendered() {
+            switch (super.kind) {
+                case DOUBLE:
+                    return Double.toString(Double.longBitsToDouble(bits));
+                case FLOAT:
+                    return Float.toString(Float.intBitsToFloat((int) bits));
+                case BOOLEAN:
+                    return bits != 0 ? "true" : "false";
+                case CHAR:
+                    return String.valueOf((char) bits);
+                default:
+                    return Long.toString(bits);
+            }
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package io.vivy.logger;
+
+import org.slf4j.event.Level;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts what the generated loggers do: calls per event name and level which passed the level
+ * check ({@code emitted}) or not ({@code suppressed}), and the time spent installing the context
+ * into the MDC and in the delegate, measured on a sample of the calls.
+ * <p>
+ * Disabled by default. While disabled, a logging call only reads one volatile field more.
+ *
+ * <pre>{@code
+ * LogMetrics.enable();
+ * LogMetrics.registerMBean();
+ * ...
+ * LogMetrics.Snapshot snapshot = LogMetrics.current().snapshot();
+ * }</pre>
+ */
+public final class LogMetrics {
+
+    /**
+     * Counters of events without a name.
+     */
+    public static final String NO_EVENT = "";
+
+    /**
+     * Counters of events with a name beyond {@link #MAX_EVENTS}.
+     */
+    public static final String OTHER_EVENTS = "*";
+
+    static final int MAX_EVENTS = 1024;
+
+    private static final String EVENT = "event";
+    private static final int LEVELS = Level.values().length;
+    private static final ObjectName NAME = objectName("io.vivy.logger:type=LogMetrics");
+
+    private static volatile LogMetrics current;
+
+    private final int sampleOneIn;
+    private final Map<String, Counters> events = new ConcurrentHashMap<>();
+    private final LongAdder timedCalls = new LongAdder();
+    private final LongAdder mdcNanos = new LongAdder();
+    private final LongAdder delegateNanos = new LongAdder();
+
+    private LogMetrics(int sampleOneIn) {
+        this.sampleOneIn = sampleOneIn;
+    }
+
+    /**
+     * Starts counting, every 64th call is timed.
+     */
+    public static LogMetrics enable() {
+        return enable(64);
+    }
+
+    /**
+     * Starts counting from zero.
+     *
+     * @param sampleOneIn every how many calls one is timed, on average
+     */
+    public static LogMetrics enable(int sampleOneIn) {
+        if (sampleOneIn < 1) {
+            throw new IllegalArgumentException("Sample rate must be at least 1, was " + sampleOneIn);
+        }
+        LogMetrics metrics = new LogMetrics(sampleOneIn);
+        current = metrics;
+        return metrics;
+    }
+
+    public static void disable() {
+        current = null;
+    }
+
+    /**
+     * @return metrics being recorded, or {@code null} if disabled
+     */
+    public static LogMetrics current() {
+        return current;
+    }
+
+    /**
+     * Exposes the current metrics as {@code io.vivy.logger:type=LogMetrics} in the platform MBean
+     * server, they read as zero while disabled.
+     */
+    public static void registerMBean() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (!server.isRegistered(NAME)) {
+                server.registerMBean(new MXBean(), NAME);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Can't register " + NAME, e);
+        }
+    }
+
+    public static void unregisterMBean() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (server.isRegistered(NAME)) {
+                server.unregisterMBean(NAME);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Can't unregister " + NAME, e);
+        }
+    }
+
+    /**
+     * Records a call rejected by the level check, called by generated loggers.
+     */
+    public void suppressed(Level level, LogContext context) {
+        counters(context).suppressed[level.ordinal()].increment();
+    }
+
+    /**
+     * Records a call which passed the level check, called by generated loggers.
+     *
+     * @return whether this call is to be timed
+     */
+    public boolean emitted(Level level, LogContext context) {
+        counters(context).emitted[level.ordinal()].increment();
+        return sampleOneIn == 1 || ThreadLocalRandom.current().nextInt(sampleOneIn) == 0;
+    }
+
+    /**
+     * Records the time of a sampled call, called by generated loggers.
+     *
+     * @param mdc      nanoseconds spent installing and restoring the MDC
+     * @param delegate nanoseconds spent in the delegate logger or emitter
+     */
+    public void timed(long mdc, long delegate) {
+        timedCalls.increment();
+        mdcNanos.add(mdc);
+        delegateNanos.add(delegate);
+    }
+
+    public Snapshot snapshot() {
+        Map<String, long[]> counts = new TreeMap<>();
+        events.forEach((event, counters) -> {
+            long[] values = new long[LEVELS * 2];
+            for (int i = 0; i < LEVELS; i++) {
+                values[i] = counters.emitted[i].sum();
+                values[LEVELS + i] = counters.suppressed[i].sum();
+            }
+            counts.put(event, values);
+        });
+        return new Snapshot(counts, timedCalls.sum(), mdcNanos.sum(), delegateNanos.sum());
+    }
+
+    private Counters counters(LogContext context) {
+        String event = context.isEmpty() ? null : context.get(EVENT);
+        if (event == null) {
+            event = NO_EVENT;
+        }
+
+        Counters counters = events.get(event);
+        if (counters == null) {
+            // names are usually constants, but must not grow the map without bound if they aren't
+            counters = events.computeIfAbsent(events.size() < MAX_EVENTS ? event : OTHER_EVENTS, it -> new Counters());
+        }
+        return counters;
+    }
+
+    private static ObjectName objectName(String name) {
+        try {
+            return new ObjectName(name);
+        } catch (JMException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Counters {
+        private final LongAdder[] emitted = adders();
+        private final LongAdder[] suppressed = adders();
+
+        private static LongAdder[] adders() {
+            LongAdder[] adders = new LongAdder[LEVELS];
+            for (int i = 0; i < adders.length; i++) {
+                adders[i] = new LongAdder();
+            }
+            return adders;
+        }
+    }
+
+    /**
+     * Counts at one point in time, counters are read one after the other while calls go on.
+     */
+    public static final class Snapshot {
+        private final Map<String, long[]> counts;
+        private final long timedCalls;
+        private final long mdcNanos;
+        private final long delegateNanos;
+
+        private Snapshot(Map<String, long[]> counts, long timedCalls, long mdcNanos, long delegateNanos) {
+            this.counts = counts;
+            this.timedCalls = timedCalls;
+            this.mdcNanos = mdcNanos;
+            this.delegateNanos = delegateNanos;
+        }
+
+        /**
+         * Names of the events seen, including {@link #NO_EVENT} and {@link #OTHER_EVENTS}.
+         */
+        public Set<String> events() {
+            return Collections.unmodifiableSet(counts.keySet());
+        }
+
+        public long emitted(String event, Level level) {
+            long[] values = counts.get(event);
+            return values == null ? 0 : values[level.ordinal()];
+        }
+
+        public long suppressed(String event, Level level) {
+            long[] values = counts.get(event);
+            return values == null ? 0 : values[LEVELS + level.ordinal()];
+        }
+
+        public long emitted(String event) {
+            return sum(event, 0);
+        }
+
+        public long suppressed(String event) {
+            return sum(event, LEVELS);
+        }
+
+        public long emitted() {
+            return counts.keySet().stream().mapToLong(this::emitted).sum();
+        }
+
+        public long suppressed() {
+            return counts.keySet().stream().mapToLong(this::suppressed).sum();
+        }
+
+        public long timedCalls() {
+            return timedCalls;
+        }
+
+        public double averageMdcNanos() {
+            return timedCalls == 0 ? 0 : (double) mdcNanos / timedCalls;
+        }
+
+        public double averageDelegateNanos() {
+            return timedCalls == 0 ? 0 : (double) delegateNanos / timedCalls;
+        }
+
+        private long sum(String event, int offset) {
+            long[] values = counts.get(event);
+            long sum = 0;
+            for (int i = 0; values != null && i < LEVELS; i++) {
+                sum += values[offset + i];
+            }
+            return sum;
+        }
+    }
+
+    /**
+     * Attributes of the registered MBean.
+     */
+    public interface LogMetricsMXBean {
+        long getEmitted();
+
+        long getSuppressed();
+
+        long getTimedCalls();
+
+        double getAverageMdcNanos();
+
+        double getAverageDelegateNanos();
+
+        Map<String, Long> getEmittedByEvent();
+
+        Map<String, Long> getSuppressedByEvent();
+    }
+
+    private static final class MXBean implements LogMetricsMXBean {
+
+        @Override
+        public long getEmitted() {
+            return snapshot().emitted();
+        }
+
+        @Override
+        public long getSuppressed() {
+            return snapshot().suppressed();
+        }
+
+        @Override
+        public long getTimedCalls() {
+            return snapshot().timedCalls();
+        }
+
+        @Override
+        public double getAverageMdcNanos() {
+            return snapshot().averageMdcNanos();
+        }
+
+        @Override
+        public double getAverageDelegateNanos() {
+            return snapshot().averageDelegateNanos();
+        }
+
+        @Override
+        public Map<String, Long> getEmittedByEvent() {
+            Snapshot snapshot = snapshot();
+            Map<String, Long> byEvent = new TreeMap<>();
+            snapshot.events().forEach(it -> byEvent.put(it, snapshot.emitted(it)));
+            return byEvent;
+        }
+
+        @Override
+        public Map<String, Long> getSuppressedByEvent() {
+            Snapshot snapshot = snapshot();
+            Map<String, Long> byEvent = new TreeMap<>();
+            snapshot.events().forEach(it -> byEvent.put(it, snapshot.suppressed(it)));
+            return byEvent;
+        }
+
+        private static Snapshot snapshot() {
+            LogMetrics metrics = current;
+            return metrics != null ? metrics.snapshot() : new Snapshot(Collections.emptyMap(), 0, 0, 0);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package io.vivy.logger;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Logger;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+import org.slf4j.event.Level;
+import org.slf4j.spi.MDCAdapter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Creates {@link LoggingEvent}s itself and passes them straight to the appenders, same as Logback
+ * does after its own filtering, but with the context as MDC property map.
+ */
+final class LogbackEventEmitter implements Emitter {
+
+    static final LogbackEventEmitter INSTANCE = new LogbackEventEmitter();
+
+    private static final String FQCN = LogbackEventEmitter.class.getName();
+
+    private LogbackEventEmitter() {
+    }
+
+    @Override
+    public void emit(Logger logger, Level level, Marker marker, String message, Object[] arguments, Throwable throwable, LogContext context) {
+        emit(logger, level, marker, message, arguments, throwable, context, false);
+    }
+
+    /**
+     * A decided level skips the level check and turbo filters, e.g. for events enabled by {@link LevelOverrides}.
+     */
+    @Override
+    public void emit(Logger logger, Level level, Marker marker, String message, Object[] arguments, Throwable throwable, LogContext context, boolean levelDecided) {
+        if (!(logger instanceof ch.qos.logback.classic.Logger)) {
+            MdcEmitter.INSTANCE.emit(logger, level, marker, message, arguments, throwable, context);
+            return;
+        }
+
+        ch.qos.logback.classic.Logger target = (ch.qos.logback.classic.Logger) logger;
+        ch.qos.logback.classic.Level logbackLevel = ch.qos.logback.classic.Level.fromLocationAwareLoggerInteger(level.toInt());
+
+        if (!levelDecided && !isEnabled(target, logbackLevel, marker, message, arguments, throwable)) {
+            return;
+        }
+
+        LoggingEvent event = new LoggingEvent(FQCN, target, logbackLevel, message, throwable, arguments);
+        if (Thread.currentThread() instanceof AsyncEmitter.Worker) {
+            event.setTimeStamp(AsyncEmitter.callerTimestamp());
+            event.setThreadName(AsyncEmitter.callerThreadName());
+        }
+        event.setMDCPropertyMap(merge(MdcSupport.withScoped(context.toMap())));
+        target.callAppenders(event);
+    }
+
+    /**
+     * Same decision as {@code Logger.filterAndLog_*}: turbo filters first, effective level only if they are neutral.
+     */
+    private static boolean isEnabled(ch.qos.logback.classic.Logger logger, ch.qos.logback.classic.Level level, Marker marker, String message, Object[] arguments, Throwable throwable) {
+        LoggerContext loggerContext = logger.getLoggerContext();
+        FilterReply decision = loggerContext.getTurboFilterList().isEmpty()
+                ? FilterReply.NEUTRAL
+                : loggerContext.getTurboFilterList().getTurboFilterChainDecision(marker, logger, level, message, arguments, throwable);
+
+        if (decision == FilterReply.NEUTRAL) {
+            return logger.getEffectiveLevel().levelInt <= level.levelInt;
+        }
+        return decision == FilterReply.ACCEPT;
+    }
+
+    /**
+     * MDC of the current thread, Logback's copy-on-write map itself instead of a copy.
+     */
+    static Map<String, String> outer() {
+        MDCAdapter adapter = MDC.getMDCAdapter();
+        return adapter instanceof LogbackMDCAdapter
+                ? ((LogbackMDCAdapter) adapter).getPropertyMap()
+                : adapter.getCopyOfContextMap();
+    }
+
+    /**
+     * Values put into the MDC by others (e.g. servlet filters) are kept, the context wins on conflicts.
+     */
+    private static Map<String, String> merge(Map<String, String> context) {
+        Map<String, String> outer = outer();
+        if (outer == null || outer.isEmpty()) {
+            return context;
+        }
+
+        Map<String, String> merged = new HashMap<>(outer);
+        merged.putAll(context);
+        return merged;
+    }
+}
@@ -0,0 +1,69 @@
+package io.vivy.logger;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggerContextListener;
+import org.slf4j.Logger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One {@link CachedLevel} per Logback logger, refreshed by a listener on its {@link LoggerContext}.
+ * <p>
+ * A level change of any logger can change the effective level of its descendants, so every change
+ * refreshes all caches of the context. Reconfiguration is rare enough for that.
+ */
+final class LogbackLevels implements LoggerContextListener {
+
+    private static final Map<LoggerContext, LogbackLevels> REGISTRIES = new ConcurrentHashMap<>();
+
+    private final Map<ch.qos.logback.classic.Logger, CachedLevel> levels = new ConcurrentHashMap<>();
+
+    private LogbackLevels() {
+    }
+
+    static CachedLevel cache(Logger logger) {
+        if (!(logger instanceof ch.qos.logback.classic.Logger)) {
+            return null;
+        }
+
+        ch.qos.logback.classic.Logger target = (ch.qos.logback.classic.Logger) logger;
+        LogbackLevels registry = REGISTRIES.computeIfAbsent(target.getLoggerContext(), context -> {
+            LogbackLevels created = new LogbackLevels();
+            context.addListener(created);
+            return created;
+        });
+
+        return registry.levels.computeIfAbsent(target, it -> new CachedLevel(it.getEffectiveLevel().levelInt));
+    }
+
+    private void refresh() {
+        levels.forEach((logger, level) -> level.update(logger.getEffectiveLevel().levelInt));
+    }
+
+    @Override
+    public boolean isResetResistant() {
+        return true;
+    }
+
+    @Override
+    public void onStart(LoggerContext context) {
+        refresh();
+    }
+
+    @Override
+    public void onReset(LoggerContext context) {
+        refresh();
+    }
+
+    @Override
+    public void onStop(LoggerContext context) {
+        refresh();
+    }
+
+    @Override
+    public void onLevelChange(ch.qos.logback.classic.Logger logger, Level level) {
+        refresh();
+    }
+}
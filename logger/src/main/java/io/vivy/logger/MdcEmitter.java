@@ -0,0 +1,78 @@
+package io.vivy.logger;
+
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+import org.slf4j.event.Level;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Installs the context into the MDC and calls the varargs overload of the delegate.
+ */
+final class MdcEmitter implements Emitter {
+
+    static final MdcEmitter INSTANCE = new MdcEmitter();
+
+    private MdcEmitter() {
+    }
+
+    @Override
+    public void emit(Logger logger, Level level, Marker marker, String message, Object[] arguments, Throwable throwable, LogContext context) {
+        Map<String, String> previous = MdcSupport.install(context);
+        try {
+            log(logger, level, marker, message, withThrowable(arguments, throwable));
+        } finally {
+            MdcSupport.restore(previous);
+        }
+    }
+
+    /**
+     * Logback would drop an event of a decided level, it is handed to its appenders directly.
+     */
+    @Override
+    public void emit(Logger logger, Level level, Marker marker, String message, Object[] arguments, Throwable throwable, LogContext context, boolean levelDecided) {
+        if (levelDecided && Emitters.LOGBACK) {
+            LogbackEventEmitter.INSTANCE.emit(logger, level, marker, message, arguments, throwable, context, true);
+        } else {
+            emit(logger, level, marker, message, arguments, throwable, context);
+        }
+    }
+
+    static void log(Logger logger, Level level, Marker marker, String message, Object[] arguments) {
+        switch (level) {
+            case TRACE:
+                logger.trace(marker, message, arguments);
+                break;
+            case DEBUG:
+                logger.debug(marker, message, arguments);
+                break;
+            case INFO:
+                logger.info(marker, message, arguments);
+                break;
+            case WARN:
+                logger.warn(marker, message, arguments);
+                break;
+            case ERROR:
+                logger.error(marker, message, arguments);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown level: " + level);
+        }
+    }
+
+    /**
+     * SLF4J treats a trailing throwable argument as the throwable of the event.
+     */
+    static Object[] withThrowable(Object[] arguments, Throwable throwable) {
+        if (throwable == null) {
+            return arguments == null ? new Object[0] : arguments;
+        }
+        if (arguments == null || arguments.length == 0) {
+            return new Object[]{throwable};
+        }
+        Object[] result = Arrays.copyOf(arguments, arguments.length + 1);
+        result[arguments.length] = throwable;
+        return result;
+    }
+}
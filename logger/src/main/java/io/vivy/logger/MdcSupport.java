@@ -0,0 +1,110 @@
+package io.vivy.logger;
+
+import org.slf4j.MDC;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bulk install and restore of the {@link MDC}, used by the generated loggers around delegate calls.
+ * <p>
+ * Instead of one {@code put} and one {@code remove} per key, the current state is copied once,
+ * replaced by the merged map in a single adapter operation and set back afterwards. Values that
+ * were already in the MDC, e.g. a trace id of a servlet filter, survive even if the context
+ * shadows them for the duration of the call.
+ */
+public final class MdcSupport {
+
+    /**
+     * Returned by {@link #install(Map)} if the MDC was not modified at all.
+     */
+    private static final Map<String, String> UNCHANGED = new HashMap<>(0);
+
+    private MdcSupport() {
+    }
+
+    /**
+     * Same as {@link #install(Map)}, but nothing is done if the context is the one of the current {@link ContextScope}
+     * and renders the same every time. Suppliers and mutable values of the scope are installed anew for every call.
+     * The context of the current {@link ScopedContext} is installed beneath it.
+     */
+    public static Map<String, String> install(LogContext context) {
+        ContextScope scope = ContextScope.current();
+        if (scope != null && scope.context() == context && context.isStable()) {
+            return UNCHANGED;
+        }
+        return install(withScoped(context.toMap()));
+    }
+
+    /**
+     * Values of the current {@link ScopedContext}, overridden by the given ones.
+     */
+    static Map<String, String> withScoped(Map<String, String> context) {
+        LogContext scoped = ContextCarrier.current();
+        if (scoped.isEmpty()) {
+            return context;
+        }
+
+        Map<String, String> merged = new HashMap<>(scoped.toMap());
+        merged.putAll(context);
+        return merged;
+    }
+
+    /**
+     * The context with the MDC and {@link ScopedContext} of the current thread linked beneath it,
+     * for emitting it on another thread.
+     */
+    static LogContext capture(LogContext context) {
+        return capture(outer(), context);
+    }
+
+    /**
+     * Same as {@link #capture(LogContext)}, with the given values in place of the MDC.
+     */
+    static LogContext capture(Map<String, String> outer, LogContext context) {
+        LogContext scoped = ContextCarrier.current();
+        if ((outer == null || outer.isEmpty()) && scoped.isEmpty()) {
+            return context;
+        }
+        return LogContext.empty().with(outer == null ? Collections.emptyMap() : outer).with(scoped).with(context);
+    }
+
+    /**
+     * MDC of the current thread, not necessarily a copy.
+     */
+    static Map<String, String> outer() {
+        return Emitters.LOGBACK ? LogbackEventEmitter.outer() : MDC.getCopyOfContextMap();
+    }
+
+    /**
+     * @return previous state of the MDC, to be passed to {@link #restore(Map)}
+     */
+    public static Map<String, String> install(Map<String, String> context) {
+        if (context.isEmpty()) {
+            return UNCHANGED;
+        }
+
+        Map<String, String> previous = MDC.getCopyOfContextMap();
+        if (previous == null || previous.isEmpty()) {
+            MDC.setContextMap(context);
+        } else {
+            Map<String, String> merged = new HashMap<>(previous);
+            merged.putAll(context);
+            MDC.setContextMap(merged);
+        }
+        return previous;
+    }
+
+    public static void restore(Map<String, String> previous) {
+        if (previous == UNCHANGED) {
+            return;
+        }
+
+        if (previous == null || previous.isEmpty()) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(previous);
+        }
+    }
+}
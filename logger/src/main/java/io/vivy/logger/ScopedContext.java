@@ -0,0 +1,50 @@
+package io.vivy.logger;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Context bound to the current thread for the duration of a call, without touching the MDC.
+ * <p>
+ * On Java 25 and later the binding is a {@code ScopedValue}, so virtual threads don't carry a
+ * thread local map each and forks of a {@code StructuredTaskScope} inherit it. Earlier versions
+ * fall back to a thread local, both come in the same multi-release jar.
+ * <p>
+ * {@link Emitters#events()} puts the bound context into every event, beneath the values of the
+ * logger itself, so appenders see it as part of the MDC property map. The MDC based loggers
+ * install it along with their own context.
+ *
+ * <pre>{@code
+ * ScopedContext.run(ContextLogger.of(log).with("request_id", id).context(), () -> handle(request));
+ * }</pre>
+ */
+public final class ScopedContext {
+
+    private ScopedContext() {
+    }
+
+    /**
+     * Runs the task with the context bound, a context bound before is hidden until it returns.
+     * To extend that one, build on {@link #current()}.
+     */
+    public static void run(LogContext context, Runnable task) {
+        ContextCarrier.run(context, task);
+    }
+
+    public static <T> T call(LogContext context, Callable<T> task) throws Exception {
+        return ContextCarrier.call(context, task);
+    }
+
+    /**
+     * @return bound context, empty if there is none
+     */
+    public static LogContext current() {
+        return ContextCarrier.current();
+    }
+
+    /**
+     * Whether the context is bound to a {@code ScopedValue} rather than a thread local.
+     */
+    public static boolean isScopedValue() {
+        return ContextCarrier.isScopedValue();
+    }
+}
@@ -0,0 +1,334 @@
+package io.vivy.logger;
+
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+import org.slf4j.event.Level;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Samples and rate limits events by their {@code event} name and level before they reach another
+ * {@link Emitter}. Events without a rule pass through unchanged.
+ * <p>
+ * Checks are lock-free: 1-in-N sampling is one atomic increment per event, a rate limit rejects
+ * with a plain read while it is exhausted and suppressed events are counted in {@link LongAdder}s.
+ * The {@code event} value is looked up only for levels some rule applies to, and a supplied value is
+ * passed on rendered, so it is not evaluated a second time by the delegate.
+ * <p>
+ * How many lines were suppressed is reported as one {@code log_suppressed} line per event and
+ * level, through the logger of a recently suppressed line. There is no thread of its own: the report
+ * goes out with the first line let through once the summary interval passed, any line, throttled
+ * or not. While nothing is let through at all, nothing is reported unless {@link #flush()} is
+ * called, e.g. by a scheduler or before shutdown.
+ *
+ * <pre>{@code
+ * Emitter emitter = ThrottlingEmitter.builder(Emitters.events())
+ *         .sampleOneIn("cache_miss", Level.DEBUG, 100)
+ *         .limit("payment_failed", 10, Duration.ofSeconds(1))
+ *         .build();
+ * }</pre>
+ */
+public final class ThrottlingEmitter implements Emitter {
+
+    private static final String SUMMARY_EVENT = "log_suppressed";
+
+    private static final String EVENT = "event";
+    private static final Level[] LEVELS = Level.values();
+
+    private final Emitter delegate;
+    private final Map<String, Rule[]> rules;
+    private final boolean[] throttled = new boolean[LEVELS.length];
+    private final List<Rule> distinct;
+    private final long summaryNanos;
+    private final AtomicLong nextSummary;
+
+    private ThrottlingEmitter(Emitter delegate, Map<String, Rule[]> rules, long summaryNanos) {
+        this.delegate = delegate;
+        this.rules = rules;
+        this.summaryNanos = summaryNanos;
+        this.nextSummary = new AtomicLong(System.nanoTime() + summaryNanos);
+
+        List<Rule> distinct = new ArrayList<>();
+        for (Rule[] byLevel : rules.values()) {
+            for (Rule rule : byLevel) {
+                if (rule != null && !distinct.contains(rule)) {
+                    distinct.add(rule);
+                }
+            }
+            for (int i = 0; i < byLevel.length; i++) {
+                throttled[i] |= byLevel[i] != null;
+            }
+        }
+        this.distinct = Collections.unmodifiableList(distinct);
+    }
+
+    /**
+     * @param delegate emits the events which are let through, e.g. {@link Emitters#events()}
+     */
+    public static Builder builder(Emitter delegate) {
+        return new Builder(delegate);
+    }
+
+    @Override
+    public void emit(Logger logger, Level level, Marker marker, String message, Object[] arguments, Throwable throwable, LogContext context) {
+        emit(logger, level, marker, message, arguments, throwable, context, false);
+    }
+
+    @Override
+    public void emit(Logger logger, Level level, Marker marker, String message, Object[] arguments, Throwable throwable, LogContext context, boolean levelDecided) {
+        if (throttled[level.ordinal()] && !context.isEmpty()) {
+            String event = context.get(EVENT);
+            Rule[] byLevel = event == null ? null : rules.get(event);
+            Rule rule = byLevel == null ? null : byLevel[level.ordinal()];
+            if (rule != null && !rule.tryAcquire()) {
+                if (rule.logger != logger) {
+                    rule.logger = logger;
+                }
+                rule.suppressed[level.ordinal()].increment();
+                return;
+            }
+            if (event != null && !context.isStable()) {
+                // the value may come from a supplier, which must not be evaluated again
+                context = context.with(EVENT, event);
+            }
+        }
+
+        delegate.emit(logger, level, marker, message, arguments, throwable, context, levelDecided);
+
+        long now = System.nanoTime();
+        if (now - nextSummary.get() >= 0) {
+            summarize(now);
+        }
+    }
+
+    /**
+     * Reports the lines suppressed since the last report right away.
+     */
+    public void flush() {
+        nextSummary.set(System.nanoTime() + summaryNanos);
+        report();
+    }
+
+    /**
+     * Number of events suppressed so far, reported or not.
+     */
+    public long suppressed() {
+        long sum = 0;
+        for (Rule rule : distinct) {
+            for (LongAdder suppressed : rule.suppressed) {
+                sum += suppressed.sum();
+            }
+        }
+        return sum;
+    }
+
+    private void summarize(long now) {
+        long next = nextSummary.get();
+        if (now - next < 0 || !nextSummary.compareAndSet(next, now + summaryNanos)) {
+            // another thread reports this period
+            return;
+        }
+        report();
+    }
+
+    private synchronized void report() {
+        for (Rule rule : distinct) {
+            for (Level level : LEVELS) {
+                long total = rule.suppressed[level.ordinal()].sum();
+                long count = total - rule.reported[level.ordinal()];
+                if (count <= 0) {
+                    continue;
+                }
+                rule.reported[level.ordinal()] = total;
+
+                LogContext context = LogContext.empty()
+                        .with(EVENT, SUMMARY_EVENT)
+                        .with("suppressed_event", rule.event)
+                        .with("suppressed", count);
+                delegate.emit(rule.logger, level, null, "suppressed {} lines of {}", new Object[]{count, rule.event}, null, context);
+            }
+        }
+    }
+
+    public static final class Builder {
+
+        private final Emitter delegate;
+        private final Map<String, Rule[]> rules = new HashMap<>();
+        private Duration summaryInterval = Duration.ofMinutes(1);
+
+        private Builder(Emitter delegate) {
+            this.delegate = delegate;
+        }
+
+        /**
+         * Lets every n-th event through, counted on all levels together.
+         */
+        public Builder sampleOneIn(String event, int n) {
+            return rule(new EveryNth(event, n), null);
+        }
+
+        public Builder sampleOneIn(String event, Level level, int n) {
+            return rule(new EveryNth(event, n), level);
+        }
+
+        /**
+         * Lets each event through with the given probability, on all levels.
+         */
+        public Builder sample(String event, double probability) {
+            return rule(new Probability(event, probability), null);
+        }
+
+        public Builder sample(String event, Level level, double probability) {
+            return rule(new Probability(event, probability), level);
+        }
+
+        /**
+         * Token bucket which lets {@code permits} events through per period, on all levels together.
+         * All of them may be used up at once.
+         */
+        public Builder limit(String event, long permits, Duration period) {
+            return rule(new TokenBucket(event, permits, period), null);
+        }
+
+        public Builder limit(String event, Level level, long permits, Duration period) {
+            return rule(new TokenBucket(event, permits, period), level);
+        }
+
+        /**
+         * How often the number of suppressed lines is reported at most, once a minute by default.
+         */
+        public Builder summaryEvery(Duration interval) {
+            if (interval.isNegative()) {
+                throw new IllegalArgumentException("Summary interval must not be negative: " + interval);
+            }
+            this.summaryInterval = interval;
+            return this;
+        }
+
+        /**
+         * One rule per event and level, a later one replaces an earlier one.
+         */
+        public ThrottlingEmitter build() {
+            Map<String, Rule[]> copy = new HashMap<>();
+            rules.forEach((event, byLevel) -> copy.put(event, byLevel.clone()));
+            return new ThrottlingEmitter(delegate, copy, summaryInterval.toNanos());
+        }
+
+        private Builder rule(Rule rule, Level level) {
+            Rule[] byLevel = rules.computeIfAbsent(rule.event, it -> new Rule[LEVELS.length]);
+            if (level == null) {
+                Arrays.fill(byLevel, rule);
+            } else {
+                byLevel[level.ordinal()] = rule;
+            }
+            return this;
+        }
+    }
+
+    private abstract static class Rule {
+        private final String event;
+        private final LongAdder[] suppressed = new LongAdder[LEVELS.length];
+
+        /**
+         * Guarded by the summarizing emitter.
+         */
+        private final long[] reported = new long[LEVELS.length];
+
+        /**
+         * Logger of a recently suppressed line, written only when it changes.
+         */
+        private volatile Logger logger;
+
+        Rule(String event) {
+            this.event = event;
+            for (int i = 0; i < suppressed.length; i++) {
+                suppressed[i] = new LongAdder();
+            }
+        }
+
+        abstract boolean tryAcquire();
+    }
+
+    /**
+     * Exactly 1-in-N on one counter shared by all threads.
+     */
+    private static final class EveryNth extends Rule {
+        private final int n;
+        private final AtomicLong counter = new AtomicLong();
+
+        EveryNth(String event, int n) {
+            super(event);
+            if (n < 1) {
+                throw new IllegalArgumentException("Sample rate must be at least 1, was " + n);
+            }
+            this.n = n;
+        }
+
+        @Override
+        boolean tryAcquire() {
+            return counter.getAndIncrement() % n == 0;
+        }
+    }
+
+    private static final class Probability extends Rule {
+        private final double probability;
+
+        Probability(String event, double probability) {
+            super(event);
+            if (!(probability > 0 && probability <= 1)) {
+                throw new IllegalArgumentException("Probability must be in (0, 1], was " + probability);
+            }
+            this.probability = probability;
+        }
+
+        @Override
+        boolean tryAcquire() {
+            return ThreadLocalRandom.current().nextDouble() < probability;
+        }
+    }
+
+    /**
+     * Token bucket as a virtual schedule: the time at which the bucket would be full again is
+     * advanced by one interval per permit. While it is too far ahead, events are rejected by a
+     * plain read, so a flood does not contend on the cache line.
+     */
+    private static final class TokenBucket extends Rule {
+        private final long interval;
+        private final long burst;
+        private final AtomicLong full;
+
+        TokenBucket(String event, long permits, Duration period) {
+            super(event);
+            if (permits < 1 || period.isNegative() || period.isZero()) {
+                throw new IllegalArgumentException("Rate limit needs at least one permit in a positive period, was " + permits + " per " + period);
+            }
+            this.interval = Math.max(1, period.toNanos() / permits);
+            this.burst = interval * permits;
+            this.full = new AtomicLong(System.nanoTime());
+        }
+
+        @Override
+        boolean tryAcquire() {
+            long now = System.nanoTime();
+            for (;;) {
+                long current = full.get();
+                long start = current - now < 0 ? now : current;
+                if (start + interval - now > burst) {
+                    return false;
+                }
+                if (full.compareAndSet(current, start + interval)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package io.vivy.logger;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Holder of the {@link ScopedContext} of the current thread, a {@link ScopedValue} from Java 25 on.
+ * <p>
+ * Nothing is stored per thread, the binding is inherited by the forks of a structured task scope
+ * and virtual threads don't keep a map each.
+ */
+final class ContextCarrier {
+
+    private static final ScopedValue<LogContext> CURRENT = ScopedValue.newInstance();
+
+    private ContextCarrier() {
+    }
+
+    // a method, a constant would be inlined into callers compiled against the other version
+    static boolean isScopedValue() {
+        return true;
+    }
+
+    static LogContext current() {
+        return CURRENT.isBound() ? CURRENT.get() : LogContext.empty();
+    }
+
+    static void run(LogContext context, Runnable task) {
+        ScopedValue.where(CURRENT, context).run(task);
+    }
+
+    static <T> T call(LogContext context, Callable<T> task) throws Exception {
+        return ScopedValue.where(CURRENT, context).call(() -> task.call());
+    }
+}
@@ -0,0 +1,131 @@
+package io.vivy.logger;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+class AggregatingEmitterTest {
+
+    private final List<String> messages = new ArrayList<>();
+    private final List<Level> levels = new ArrayList<>();
+    private final List<Map<String, String>> contexts = new ArrayList<>();
+
+    @Test
+    void shouldEmitFirstOccurrenceAndRollUpDuplicates() {
+        val emitter = AggregatingEmitter.builder(recording())
+                .keys("dependency")
+                .build();
+
+        val logger = ContextLogger.of(enabledLogger(), emitter).event("call_failed").with("dependency", "palantir");
+        val before = Instant.now();
+        for (int i = 0; i < 5; i++) {
+            logger.with("attempt", i).warn("call failed");
+        }
+        assertThat(messages).containsExactly("call failed");
+
+        emitter.flush();
+
+        assertThat(messages).containsExactly("call failed", "repeated {} times");
+        assertThat(levels).containsExactly(Level.WARN, Level.WARN);
+        assertThat(contexts.get(1))
+                .containsEntry("event", "call_failed")
+                .containsEntry("dependency", "palantir")
+                .containsEntry("attempt", "0")
+                .containsEntry("repeated", "4");
+        assertThat(Instant.parse(contexts.get(1).get("first_seen"))).isAfterOrEqualTo(before.minusMillis(1));
+        assertThat(Instant.parse(contexts.get(1).get("last_seen"))).isAfterOrEqualTo(Instant.parse(contexts.get(1).get("first_seen")));
+    }
+
+    @Test
+    void shouldTellEventsApartByKeysAndLevel() {
+        val emitter = AggregatingEmitter.builder(recording())
+                .keys("dependency")
+                .build();
+
+        val logger = ContextLogger.of(enabledLogger(), emitter).event("call_failed");
+        logger.with("dependency", "palantir").warn("palantir");
+        logger.with("dependency", "palantir").warn("palantir");
+        logger.with("dependency", "mirror").warn("mirror");
+        logger.with("dependency", "palantir").error("palantir error");
+        logger.warn("no dependency");
+        logger.warn("no dependency");
+
+        assertThat(messages).containsExactly("palantir", "mirror", "palantir error", "no dependency");
+    }
+
+    @Test
+    void shouldPassEventsWithoutName() {
+        val emitter = AggregatingEmitter.builder(recording()).build();
+
+        val logger = ContextLogger.of(enabledLogger(), emitter).with("ring", "one");
+        logger.info("precious");
+        logger.info("precious");
+
+        assertThat(messages).containsExactly("precious", "precious");
+    }
+
+    @Test
+    void shouldStartNewWindowWhenEnded() throws InterruptedException {
+        val emitter = AggregatingEmitter.builder(recording())
+                .window(Duration.ofMillis(50))
+                .build();
+
+        val logger = ContextLogger.of(enabledLogger(), emitter).event("beacon_lit");
+        logger.info("lit");
+        logger.info("lit");
+        logger.info("lit");
+
+        Thread.sleep(80);
+        logger.info("lit again");
+
+        assertThat(messages).containsExactly("lit", "repeated {} times", "lit again");
+        assertThat(contexts.get(1)).containsEntry("repeated", "2");
+    }
+
+    @Test
+    void shouldRollUpOldestWindowsWhenFull() {
+        val emitter = AggregatingEmitter.builder(recording())
+                .keys("id")
+                .maxWindows(2)
+                .build();
+
+        val logger = ContextLogger.of(enabledLogger(), emitter).event("order_failed");
+        logger.with("id", 1).error("first");
+        logger.with("id", 1).error("first");
+        logger.with("id", 2).error("second");
+        logger.with("id", 3).error("third");
+
+        assertThat(messages).containsExactly("first", "second", "repeated {} times", "third");
+        assertThat(contexts.get(2)).containsEntry("id", "1").containsEntry("repeated", "1");
+
+        emitter.flush();
+        assertThat(messages).hasSize(4);
+    }
+
+    private static Logger enabledLogger() {
+        val mock = Mockito.mock(Logger.class);
+        when(mock.isInfoEnabled()).thenReturn(true);
+        when(mock.isWarnEnabled()).thenReturn(true);
+        when(mock.isErrorEnabled()).thenReturn(true);
+        return mock;
+    }
+
+    private Emitter recording() {
+        return (logger, level, marker, message, arguments, throwable, context) -> {
+            messages.add(message);
+            levels.add(level);
+            contexts.add(context.toMap());
+        };
+    }
+}
@@ -0,0 +1,162 @@
+package io.vivy.logger;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.MDC;
+import org.slf4j.event.Level;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+class AsyncEmitterTest {
+
+    private final List<Map<String, String>> contexts = new CopyOnWriteArrayList<>();
+    private final List<String> messages = new CopyOnWriteArrayList<>();
+    private final List<String> threads = new CopyOnWriteArrayList<>();
+
+    private AsyncEmitter async;
+
+    @AfterEach
+    void tearDown() {
+        async.close();
+    }
+
+    @Test
+    void shouldEmitOnBackgroundThread() {
+        async = AsyncEmitter.start(recording(null), 16, AsyncEmitter.Overflow.BLOCK);
+
+        val logger = ContextLogger.of(enabledLogger(), async).with("frodo", "baggins");
+        logger.info("first");
+        logger.with("sam", "gamgee").warn("second {}", 2);
+
+        async.close();
+
+        assertThat(MDC.getCopyOfContextMap()).isNullOrEmpty();
+        assertThat(messages).containsExactly("first", "second {}");
+        assertThat(contexts.get(0)).hasSize(1).containsEntry("frodo", "baggins");
+        assertThat(contexts.get(1)).hasSize(2).containsEntry("sam", "gamgee");
+        assertThat(threads).containsOnly(Thread.currentThread().getName());
+    }
+
+    @Test
+    void shouldTakeCallerContextAlong() {
+        async = AsyncEmitter.start(recording(null), 16, AsyncEmitter.Overflow.BLOCK);
+
+        val logger = ContextLogger.of(enabledLogger(), async).with("frodo", "baggins");
+        MDC.put("trace_id", "abc");
+        try {
+            ScopedContext.run(LogContext.empty().with("request", "42").with("frodo", "scoped"), () -> logger.info("inside"));
+        } finally {
+            MDC.clear();
+        }
+        async.close();
+
+        assertThat(contexts.get(0))
+                .hasSize(3)
+                .containsEntry("trace_id", "abc")
+                .containsEntry("request", "42")
+                .containsEntry("frodo", "baggins");
+    }
+
+    @Test
+    void shouldCreateLogbackEventsWithCallerTimeAndThread() throws InterruptedException {
+        val context = new LoggerContext();
+        val appender = new ListAppender<ILoggingEvent>();
+        appender.setContext(context);
+        appender.start();
+        val target = context.getLogger("async");
+        target.addAppender(appender);
+
+        val blocked = new CountDownLatch(1);
+        val delegate = Emitters.events();
+        async = AsyncEmitter.start((logger, level, marker, message, arguments, throwable, logContext) -> {
+            try {
+                blocked.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            delegate.emit(logger, level, marker, message, arguments, throwable, logContext);
+        }, 16, AsyncEmitter.Overflow.BLOCK);
+
+        long before = System.currentTimeMillis();
+        ContextLogger.of(target, async).info("logged");
+        long after = System.currentTimeMillis();
+        Thread.sleep(20);
+        blocked.countDown();
+        async.close();
+
+        assertThat(appender.list).hasSize(1);
+        assertThat(appender.list.get(0).getThreadName()).isEqualTo(Thread.currentThread().getName());
+        assertThat(appender.list.get(0).getTimeStamp()).isBetween(before, after);
+    }
+
+    @Test
+    void shouldDropWhenFull() throws InterruptedException {
+        val blocked = new CountDownLatch(1);
+        async = AsyncEmitter.start(recording(blocked), 2, AsyncEmitter.Overflow.DROP_BELOW_WARN);
+
+        val logger = ContextLogger.of(enabledLogger(), async);
+        for (int i = 0; i < 10; i++) {
+            logger.info("info");
+        }
+
+        assertThat(async.dropped()).isGreaterThanOrEqualTo(7);
+
+        blocked.countDown();
+        logger.error("error");
+        async.close();
+
+        assertThat(messages).contains("error");
+        assertThat(messages.size() + async.dropped()).isEqualTo(11);
+    }
+
+    @Test
+    void shouldBlockWhenFull() {
+        async = AsyncEmitter.start(recording(null), 2, AsyncEmitter.Overflow.BLOCK);
+
+        val logger = ContextLogger.of(enabledLogger(), async);
+        for (int i = 0; i < 1000; i++) {
+            logger.debug("debug");
+        }
+        async.close();
+
+        assertThat(messages).hasSize(1000);
+        assertThat(async.dropped()).isZero();
+    }
+
+    private static Logger enabledLogger() {
+        val mock = Mockito.mock(Logger.class);
+        when(mock.isDebugEnabled()).thenReturn(true);
+        when(mock.isInfoEnabled()).thenReturn(true);
+        when(mock.isWarnEnabled()).thenReturn(true);
+        when(mock.isErrorEnabled()).thenReturn(true);
+        return mock;
+    }
+
+    private Emitter recording(CountDownLatch blocked) {
+        return (logger, level, marker, message, arguments, throwable, context) -> {
+            if (blocked != null && level != Level.ERROR) {
+                try {
+                    blocked.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            threads.add(AsyncEmitter.callerThreadName());
+            messages.add(message);
+            contexts.add(context.toMap());
+        };
+    }
+}
@@ -0,0 +1,81 @@
+package io.vivy.logger;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+class CachedLevelTest {
+    private static final ch.qos.logback.classic.Logger parent = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger("cached");
+    private static final ch.qos.logback.classic.Logger log = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger("cached.level");
+
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        appender = new ListAppender<>();
+        appender.start();
+        log.addAppender(appender);
+        parent.setLevel(Level.WARN);
+    }
+
+    @AfterEach
+    void tearDown() {
+        log.detachAppender(appender);
+        log.setLevel(null);
+        parent.setLevel(null);
+    }
+
+    @Test
+    void shouldFollowLevelChanges() {
+        val logger = ContextLogger.of(log).with("frodo", "baggins").cachingLevels();
+
+        logger.info("dropped");
+        assertThat(logger.isInfoEnabled()).isFalse();
+
+        log.setLevel(Level.DEBUG);
+        logger.debug("kept");
+        assertThat(logger.isDebugEnabled()).isTrue();
+        assertThat(logger.isTraceEnabled()).isFalse();
+
+        log.setLevel(null);
+        parent.setLevel(Level.ERROR);
+        logger.warn("dropped");
+        logger.error("kept too");
+
+        assertThat(appender.list)
+                .extracting(ILoggingEvent::getMessage)
+                .containsExactly("kept", "kept too");
+    }
+
+    @Test
+    void shouldKeepContextAndEmitter() {
+        log.setLevel(Level.INFO);
+
+        ContextLogger.of(log, Emitters.events())
+                .with("frodo", "baggins")
+                .cachingLevels()
+                .info("hello");
+
+        assertThat(appender.list).hasSize(1);
+        assertThat(appender.list.get(0).getMDCPropertyMap()).containsEntry("frodo", "baggins");
+    }
+
+    @Test
+    void shouldDelegateForOtherLoggers() {
+        val mock = Mockito.mock(Logger.class);
+        when(mock.isInfoEnabled()).thenReturn(true);
+
+        assertThat(CachedLevel.of(mock)).isNull();
+        assertThat(ContextLogger.of(mock).cachingLevels().isInfoEnabled()).isTrue();
+    }
+}
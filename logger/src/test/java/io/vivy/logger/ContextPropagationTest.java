@@ -0,0 +1,111 @@
+package io.vivy.logger;
+
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.MDC;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// scopes are opened for their effect on the current thread only
+@SuppressWarnings("try")
+class ContextPropagationTest {
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(2);
+    private final ExecutorService executor = ContextPropagation.wrap(pool);
+
+    private final ContextLogger logger = ContextLogger.of(Mockito.mock(Logger.class)).with("frodo", "baggins");
+
+    @BeforeEach
+    void setUp() {
+        MDC.clear();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldRunTasksWithContextOfSubmittingScope() throws Exception {
+        try (ContextScope scope = logger.open()) {
+            val mdc = executor.submit(MDC::getCopyOfContextMap).get();
+            val current = executor.submit(ContextPropagation::current).get();
+
+            assertThat(mdc).hasSize(1).containsEntry("frodo", "baggins");
+            assertThat(current).isSameAs(logger.context());
+        }
+
+        val outside = executor.submit(MDC::getCopyOfContextMap).get();
+        assertThat(outside).isNullOrEmpty();
+    }
+
+    @Test
+    void shouldPropagateThroughCompletableFutureStages() throws Exception {
+        CompletableFuture<Map<String, String>> future;
+        try (ContextScope scope = logger.open()) {
+            future = CompletableFuture.supplyAsync(() -> "shire", executor)
+                    .thenApplyAsync(it -> MDC.getCopyOfContextMap(), executor);
+        }
+
+        assertThat(future.get(1, TimeUnit.SECONDS))
+                .hasSize(1)
+                .containsEntry("frodo", "baggins");
+    }
+
+    @Test
+    void shouldPropagateMdcAndScopedContext() throws Exception {
+        MDC.put("trace_id", "outer");
+
+        val outside = executor.submit(MDC::getCopyOfContextMap).get();
+        val inside = ScopedContext.call(LogContext.empty().with("request_id", "r-1"), () -> {
+            try (ContextScope scope = logger.open()) {
+                return executor.submit(MDC::getCopyOfContextMap).get();
+            }
+        });
+
+        assertThat(outside).hasSize(1).containsEntry("trace_id", "outer");
+        assertThat(inside)
+                .hasSize(3)
+                .containsEntry("trace_id", "outer")
+                .containsEntry("request_id", "r-1")
+                .containsEntry("frodo", "baggins");
+    }
+
+    @Test
+    void shouldPropagateThroughStagesOnTheCommonPool() throws Exception {
+        CompletableFuture<Map<String, String>> future;
+        try (ContextScope scope = logger.open()) {
+            val context = ContextPropagation.current();
+            future = CompletableFuture.supplyAsync(ContextPropagation.supplier(context, () -> MDC.get("frodo")))
+                    .thenApplyAsync(ContextPropagation.function(context, it -> MDC.getCopyOfContextMap()));
+        }
+
+        assertThat(future.get(1, TimeUnit.SECONDS))
+                .hasSize(1)
+                .containsEntry("frodo", "baggins");
+    }
+
+    @Test
+    void shouldWrapSingleTasks() throws Exception {
+        val runnable = ContextPropagation.runnable(logger.context(), () -> assertThat(MDC.get("frodo")).isEqualTo("baggins"));
+        val callable = ContextPropagation.callable(logger.context(), () -> MDC.get("frodo"));
+
+        pool.submit(runnable).get();
+        assertThat(pool.submit(callable).get()).isEqualTo("baggins");
+        assertThat(pool.invokeAll(Collections.singletonList(callable)).get(0).get()).isEqualTo("baggins");
+        assertThat(CompletableFuture.supplyAsync(ContextPropagation.supplier(logger.context(), () -> MDC.get("frodo")), pool).get()).isEqualTo("baggins");
+        assertThat(MDC.getCopyOfContextMap()).isNullOrEmpty();
+    }
+}
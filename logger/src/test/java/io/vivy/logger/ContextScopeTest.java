@@ -0,0 +1,126 @@
+package io.vivy.logger;
+
+import lombok.val;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+// scopes are opened for their effect on the current thread only
+@SuppressWarnings("try")
+class ContextScopeTest {
+
+    private final Logger mock = Mockito.mock(Logger.class);
+    private final AtomicReference<Map<String, String>> map = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() {
+        MDC.clear();
+        when(mock.isInfoEnabled()).thenReturn(true);
+        doAnswer(invocation -> {
+            map.set(MDC.getCopyOfContextMap());
+            // would be removed again if the logger restored the MDC after the call
+            MDC.put("touched", "yes");
+            return null;
+        }).when(mock).info(anyString());
+    }
+
+    @Test
+    void shouldInstallContextOnceForTheScope() {
+        MDC.put("trace_id", "outer");
+        val logger = ContextLogger.of(mock).with("frodo", "baggins");
+
+        try (ContextScope scope = logger.open()) {
+            assertThat(MDC.get("frodo")).isEqualTo("baggins");
+
+            logger.info("inside");
+
+            assertThat(map.get())
+                    .containsEntry("frodo", "baggins")
+                    .containsEntry("trace_id", "outer");
+            assertThat(MDC.get("touched")).isEqualTo("yes");
+        }
+
+        assertThat(MDC.getCopyOfContextMap())
+                .hasSize(1)
+                .containsEntry("trace_id", "outer");
+    }
+
+    @Test
+    void shouldRenderSuppliersOfTheScopeForEveryLine() {
+        val counter = new AtomicInteger();
+        val logger = ContextLogger.of(mock).with("attempt", counter::incrementAndGet);
+
+        try (ContextScope scope = logger.open()) {
+            logger.info("first");
+            val first = map.get().get("attempt");
+
+            logger.info("second");
+
+            assertThat(map.get().get("attempt")).isNotEqualTo(first);
+            assertThat(MDC.get("attempt")).isEqualTo("1");
+        }
+
+        assertThat(MDC.getCopyOfContextMap()).isNullOrEmpty();
+    }
+
+    @Test
+    void shouldInstallOtherContextsAsUsual() {
+        val logger = ContextLogger.of(mock).with("frodo", "baggins");
+
+        try (ContextScope scope = logger.open()) {
+            logger.with("sam", "gamgee").info("inside");
+
+            assertThat(map.get())
+                    .hasSize(2)
+                    .containsEntry("frodo", "baggins")
+                    .containsEntry("sam", "gamgee");
+            assertThat(MDC.getCopyOfContextMap())
+                    .hasSize(1)
+                    .containsEntry("frodo", "baggins");
+        }
+
+        assertThat(MDC.getCopyOfContextMap()).isNullOrEmpty();
+    }
+
+    @Test
+    void shouldNestScopes() {
+        val outer = ContextLogger.of(mock).with("gandalf", "gray");
+        val inner = outer.with("gandalf", "white");
+
+        try (ContextScope first = outer.open()) {
+            try (ContextScope second = inner.open()) {
+                assertThat(ContextScope.current()).isSameAs(second);
+                assertThat(MDC.get("gandalf")).isEqualTo("white");
+            }
+            assertThat(ContextScope.current()).isSameAs(first);
+            assertThat(MDC.get("gandalf")).isEqualTo("gray");
+        }
+
+        assertThat(ContextScope.current()).isNull();
+        assertThat(MDC.getCopyOfContextMap()).isNullOrEmpty();
+    }
+
+    @Test
+    void shouldRejectClosingOutOfOrder() {
+        val first = ContextLogger.of(mock).with("gandalf", "gray").open();
+        val second = ContextLogger.of(mock).with("gandalf", "white").open();
+
+        assertThatThrownBy(first::close).isInstanceOf(IllegalStateException.class);
+
+        second.close();
+        first.close();
+        assertThat(MDC.getCopyOfContextMap()).isNullOrEmpty();
+    }
+}
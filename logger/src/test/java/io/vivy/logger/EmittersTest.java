@@ -0,0 +1,109 @@
+package io.vivy.logger;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+class EmittersTest {
+    private static final ch.qos.logback.classic.Logger log = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(EmittersTest.class);
+
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        MDC.clear();
+        appender = new ListAppender<>();
+        appender.start();
+        log.addAppender(appender);
+        log.setLevel(Level.INFO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        log.detachAppender(appender);
+        log.setLevel(null);
+    }
+
+    @Test
+    void shouldAttachContextToEventWithoutMDC() {
+        MDC.put("trace_id", "abc");
+        MDC.put("gandalf", "gray");
+
+        val exception = new RuntimeException("you shall not pass");
+        ContextLogger.of(log, Emitters.events())
+                .event("bridge_crossed")
+                .with("gandalf", "white")
+                .warn("crossed {} of {}", 1, 2, exception);
+
+        assertThat(appender.list).hasSize(1);
+        val event = appender.list.get(0);
+
+        assertThat(event.getLevel()).isEqualTo(Level.WARN);
+        assertThat(event.getFormattedMessage()).isEqualTo("crossed 1 of 2");
+        assertThat(event.getThrowableProxy().getMessage()).isEqualTo("you shall not pass");
+        assertThat(event.getMDCPropertyMap())
+                .hasSize(3)
+                .containsEntry("event", "bridge_crossed")
+                .containsEntry("gandalf", "white")
+                .containsEntry("trace_id", "abc");
+
+        assertThat(MDC.getCopyOfContextMap())
+                .hasSize(2)
+                .containsEntry("trace_id", "abc")
+                .containsEntry("gandalf", "gray");
+    }
+
+    @Test
+    void shouldRespectLevelOfLogbackLogger() {
+        val logger = ContextLogger.of(log, Emitters.events()).with("frodo", "baggins");
+
+        logger.debug("dropped");
+        logger.info("kept");
+
+        assertThat(appender.list)
+                .extracting(ILoggingEvent::getMessage)
+                .containsExactly("kept");
+    }
+
+    @Test
+    void shouldFallBackToMDCForOtherLoggers() {
+        val mock = Mockito.mock(Logger.class);
+        when(mock.isInfoEnabled()).thenReturn(true);
+
+        AtomicReference<Map<String, String>> map = new AtomicReference<>();
+        doAnswer(invocation -> {
+            map.set(MDC.getCopyOfContextMap());
+            return null;
+        }).when(mock).info((Marker) isNull(), anyString(), (Object[]) any());
+
+        ContextLogger.of(mock, Emitters.events())
+                .with("frodo", "baggins")
+                .info("hello {}", "shire");
+
+        Mockito.verify(mock).info((Marker) isNull(), eq("hello {}"), (Object[]) any());
+        assertThat(map.get())
+                .hasSize(1)
+                .containsEntry("frodo", "baggins");
+        assertThat(MDC.getCopyOfContextMap()).isNullOrEmpty();
+    }
+}
@@ -0,0 +1,139 @@
+package io.vivy.logger;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+class FingerprintingEmitterTest {
+
+    private final List<Throwable> throwables = new ArrayList<>();
+    private final List<Object[]> arguments = new ArrayList<>();
+    private final List<Map<String, String>> contexts = new ArrayList<>();
+
+    @Test
+    void shouldRenderRepeatedTraceOnce() {
+        val emitter = FingerprintingEmitter.builder(recording()).build();
+
+        val logger = ContextLogger.of(enabledLogger(), emitter).event("payment_failed");
+        for (int i = 0; i < 3; i++) {
+            logger.error(failure("timeout " + i));
+        }
+
+        assertThat(throwables).hasSize(3);
+        assertThat(throwables.get(0)).hasMessage("timeout 0");
+        assertThat(throwables.subList(1, 3)).containsOnlyNulls();
+        assertThat(contexts.get(0)).containsEntry("event", "payment_failed").doesNotContainKey("exception_count");
+        assertThat(contexts.get(0).get("exception_id")).hasSize(16);
+        assertThat(contexts.get(1)).containsEntry("exception_id", contexts.get(0).get("exception_id")).containsEntry("exception_count", "2");
+        assertThat(contexts.get(2)).containsEntry("exception_count", "3");
+        assertThat(emitter.fingerprints()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldTellThrowSitesAndTypesApart() {
+        val emitter = FingerprintingEmitter.builder(recording())
+                .frames(1)
+                .build();
+
+        val logger = ContextLogger.of(enabledLogger(), emitter);
+        logger.error(failure("first"));
+        logger.error(new IllegalStateException("other site"));
+        logger.error(failure("second"));
+        logger.error("no throwable");
+
+        assertThat(throwables.get(0)).isNotNull();
+        assertThat(throwables.get(1)).isNotNull();
+        assertThat(throwables.get(2)).isNull();
+        assertThat(throwables.get(3)).isNull();
+        assertThat(contexts.get(0).get("exception_id")).isNotEqualTo(contexts.get(1).get("exception_id"));
+        assertThat(contexts.get(3)).doesNotContainKey("exception_id");
+    }
+
+    @Test
+    void shouldStripTrailingThrowableArgument() {
+        val emitter = FingerprintingEmitter.builder(recording())
+                .frames(1)
+                .build();
+
+        val logger = ContextLogger.of(enabledLogger(), emitter);
+        logger.warn("retry {} failed", 1, failure("first"));
+        logger.warn("retry {} failed", 2, failure("second"));
+
+        assertThat(arguments.get(0)).hasSize(2);
+        assertThat(arguments.get(1)).containsExactly(2);
+        assertThat(contexts.get(1)).containsEntry("exception_count", "2");
+    }
+
+    @Test
+    void shouldRenderTraceAgainAfterWindow() throws InterruptedException {
+        val emitter = FingerprintingEmitter.builder(recording())
+                .frames(1)
+                .window(Duration.ofMillis(50))
+                .build();
+
+        val logger = ContextLogger.of(enabledLogger(), emitter);
+        logger.error(failure("first"));
+        logger.error(failure("second"));
+        Thread.sleep(80);
+        logger.error(failure("third"));
+
+        assertThat(throwables.get(1)).isNull();
+        assertThat(throwables.get(2)).hasMessage("third");
+        assertThat(contexts.get(2)).doesNotContainKey("exception_count");
+    }
+
+    @Test
+    void shouldBoundFingerprints() {
+        val emitter = FingerprintingEmitter.builder(recording())
+                .maxFingerprints(1)
+                .build();
+
+        val logger = ContextLogger.of(enabledLogger(), emitter);
+        logger.error(failure("first"));
+        for (int i = 0; i < 2; i++) {
+            logger.error(new IllegalStateException("not remembered"));
+        }
+
+        assertThat(throwables).doesNotContainNull();
+        assertThat(emitter.fingerprints()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectInvalidSettings() {
+        val builder = FingerprintingEmitter.builder(recording());
+
+        assertThatThrownBy(() -> builder.frames(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> builder.window(Duration.ZERO)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> builder.maxFingerprints(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static RuntimeException failure(String message) {
+        return new RuntimeException(message);
+    }
+
+    private static Logger enabledLogger() {
+        val mock = Mockito.mock(Logger.class);
+        when(mock.isWarnEnabled()).thenReturn(true);
+        when(mock.isErrorEnabled()).thenReturn(true);
+        return mock;
+    }
+
+    private Emitter recording() {
+        return (logger, level, marker, message, arguments, throwable, context) -> {
+            throwables.add(throwable);
+            this.arguments.add(arguments == null ? null : Arrays.copyOf(arguments, arguments.length));
+            contexts.add(context.toMap());
+        };
+    }
+}
@@ -0,0 +1,87 @@
+package io.vivy.logger;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.MDC;
+import org.slf4j.event.Level;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LevelLoggerTest {
+
+    @Test
+    void shouldReturnSharedInstanceForDisabledLevel() {
+        val mock = Mockito.mock(Logger.class);
+        val logger = ContextLogger.of(mock);
+
+        val calls = new AtomicInteger();
+        val debug = logger.atDebug()
+                .event("item_processed")
+                .with("item", 42L)
+                .with("lazy", () -> calls.incrementAndGet());
+        debug.log("processed {}", "ring");
+
+        assertThat(debug).isSameAs(LevelLogger.disabled()).isSameAs(logger.atTrace());
+        assertThat(debug.isEnabled()).isFalse();
+        assertThat(calls).hasValue(0);
+        verify(mock, never()).debug(anyString(), any(Object.class));
+    }
+
+    @Test
+    void shouldLogWithContextAtLevel() {
+        val mock = Mockito.mock(Logger.class);
+        when(mock.isWarnEnabled()).thenReturn(true);
+
+        AtomicReference<Map<String, String>> map = new AtomicReference<>();
+        doAnswer(invocation -> {
+            map.set(MDC.getCopyOfContextMap());
+            return null;
+        }).when(mock).warn(anyString(), any(Object.class));
+
+        val warn = ContextLogger.of(mock).with("frodo", "baggins").atWarn();
+        warn.event("ring_found").with("weight", 0.1).log("found {}", "ring");
+
+        assertThat(warn.isEnabled()).isTrue();
+        verify(mock).warn(eq("found {}"), eq((Object) "ring"));
+        assertThat(map.get())
+                .hasSize(3)
+                .containsEntry("event", "ring_found")
+                .containsEntry("frodo", "baggins")
+                .containsEntry("weight", "0.1");
+    }
+
+    @Test
+    void shouldLogEveryShape() {
+        val mock = Mockito.mock(Logger.class);
+        when(mock.isErrorEnabled()).thenReturn(true);
+
+        val exception = new IllegalStateException("you shall not pass");
+        val error = ContextLogger.of(mock).at(Level.ERROR);
+        error.log();
+        error.log("one");
+        error.log("{} and {}", 1, 2);
+        error.log("{} {} {}", 1, 2, 3);
+        error.log("failed", exception);
+        error.log(exception);
+
+        verify(mock).error("");
+        verify(mock).error("one");
+        verify(mock).error("{} and {}", 1, 2);
+        verify(mock).error("{} {} {}", 1, 2, 3);
+        verify(mock).error("failed", exception);
+        verify(mock).error("", exception);
+    }
+}
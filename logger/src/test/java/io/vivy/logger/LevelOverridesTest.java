@@ -0,0 +1,136 @@
+package io.vivy.logger;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MarkerFactory;
+import org.slf4j.event.Level;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LevelOverridesTest {
+    private static final ch.qos.logback.classic.Logger log = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger("level.overrides");
+
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        appender = new ListAppender<>();
+        appender.start();
+        log.addAppender(appender);
+        log.setLevel(ch.qos.logback.classic.Level.INFO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        LevelOverrides.disableAll();
+        log.detachAppender(appender);
+        log.setLevel(null);
+    }
+
+    @Test
+    void shouldEnableLowerLevelForMatchingContext() {
+        LevelOverrides.enable("user_id", 42, Level.DEBUG);
+
+        val logger = ContextLogger.of(log);
+        logger.with("user_id", 42).debug("debug for {}", 42);
+        logger.with("user_id", 7).debug("debug for {}", 7);
+        logger.with("user_id", 42).trace("trace for {}", 42);
+        logger.debug("no user");
+
+        assertThat(appender.list).hasSize(1);
+        assertThat(appender.list.get(0).getFormattedMessage()).isEqualTo("debug for 42");
+        assertThat(appender.list.get(0).getMDCPropertyMap()).containsEntry("user_id", "42");
+    }
+
+    @Test
+    void shouldAnswerLevelChecks() {
+        LevelOverrides.enable("tenant", "shire", Level.TRACE);
+
+        val logger = ContextLogger.of(log).cachingLevels();
+        val marker = MarkerFactory.getMarker("audit");
+
+        assertThat(logger.with("tenant", "shire").isTraceEnabled()).isTrue();
+        assertThat(logger.with("tenant", "shire").isDebugEnabled(marker)).isTrue();
+        assertThat(logger.with("tenant", "mordor").isDebugEnabled()).isFalse();
+        assertThat(logger.with("tenant", "shire").atDebug().isEnabled()).isTrue();
+
+        logger.with("tenant", "shire").atDebug().with("order_id", 1).log("level first");
+        logger.with("tenant", "shire").trace(marker, "with marker");
+
+        assertThat(appender.list)
+                .extracting(ILoggingEvent::getFormattedMessage)
+                .containsExactly("level first", "with marker");
+    }
+
+    @Test
+    void shouldMatchContextAddedAfterTheLevel() {
+        val logger = ContextLogger.of(log);
+        assertThat(logger.atDebug()).isSameAs(LevelLogger.disabled());
+
+        LevelOverrides.enable("user_id", 42, Level.DEBUG);
+
+        assertThat(logger.atDebug().with("user_id", 42).isEnabled()).isTrue();
+        assertThat(logger.atDebug().with("user_id", 7).isEnabled()).isFalse();
+
+        logger.atDebug().with("user_id", 42).log("level first");
+        logger.atDebug().with("user_id", 7).log("other user");
+        logger.atTrace().with("user_id", 42).log("too low");
+
+        assertThat(appender.list)
+                .extracting(ILoggingEvent::getFormattedMessage)
+                .containsExactly("level first");
+    }
+
+    @Test
+    void shouldLogThroughEmitters() {
+        LevelOverrides.enable("user_id", 42L, Level.DEBUG);
+
+        ContextLogger.of(log, Emitters.events()).with("user_id", 42L).debug("events");
+        ContextLogger.of(log, Emitters.mdc()).with("user_id", 42L).debug("mdc");
+
+        assertThat(appender.list)
+                .extracting(ILoggingEvent::getFormattedMessage)
+                .containsExactly("events", "mdc");
+        assertThat(appender.list).allMatch(it -> "42".equals(it.getMDCPropertyMap().get("user_id")));
+    }
+
+    @Test
+    void shouldLogThroughWrappedEmitters() {
+        LevelOverrides.enable("user_id", 42L, Level.DEBUG);
+
+        val throttling = ThrottlingEmitter.builder(Emitters.events()).sampleOneIn("other", 10).build();
+        val fingerprinting = FingerprintingEmitter.builder(Emitters.mdc()).build();
+        ContextLogger.of(log, throttling).with("user_id", 42L).debug("throttled");
+        ContextLogger.of(log, fingerprinting).with("user_id", 42L).debug("fingerprinted", new IllegalStateException("failed"));
+        try (val async = AsyncEmitter.start(AggregatingEmitter.builder(Emitters.events()).build(), 16, AsyncEmitter.Overflow.BLOCK)) {
+            ContextLogger.of(log, async).with("user_id", 42L).event("order_created").debug("async");
+        }
+        ContextLogger.of(log, throttling).with("user_id", 7L).debug("not enabled");
+
+        assertThat(appender.list)
+                .extracting(ILoggingEvent::getFormattedMessage)
+                .containsExactly("throttled", "fingerprinted", "async");
+        assertThat(appender.list.get(1).getMDCPropertyMap()).containsKey("exception_id");
+    }
+
+    @Test
+    void shouldSwapOverrides() {
+        val logger = ContextLogger.of(log).with("user_id", 42);
+
+        LevelOverrides.enable("user_id", 42, Level.DEBUG);
+        logger.debug("first");
+        LevelOverrides.enable("user_id", 42, Level.INFO);
+        logger.debug("second");
+        LevelOverrides.enable("user_id", 42, Level.DEBUG);
+        LevelOverrides.disable("user_id", 42);
+        logger.debug("third");
+
+        assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage).containsExactly("first");
+        assertThat(LevelOverrides.active()).isEmpty();
+    }
+}
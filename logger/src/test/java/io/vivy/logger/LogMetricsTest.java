@@ -0,0 +1,105 @@
+package io.vivy.logger;
+
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+class LogMetricsTest {
+
+    @AfterEach
+    void tearDown() {
+        LogMetrics.disable();
+        LogMetrics.unregisterMBean();
+    }
+
+    @Test
+    void shouldCountCallsPerEventAndLevel() {
+        val metrics = LogMetrics.enable(1);
+
+        val logger = ContextLogger.of(infoLogger());
+        logger.event("order_created").info("created");
+        logger.event("order_created").with("id", 1).info("created");
+        logger.event("order_created").debug("details");
+        logger.warn("no event");
+
+        val snapshot = metrics.snapshot();
+        assertThat(snapshot.events()).containsExactly(LogMetrics.NO_EVENT, "order_created");
+        assertThat(snapshot.emitted("order_created", Level.INFO)).isEqualTo(2);
+        assertThat(snapshot.suppressed("order_created", Level.DEBUG)).isEqualTo(1);
+        assertThat(snapshot.emitted(LogMetrics.NO_EVENT, Level.WARN)).isEqualTo(1);
+        assertThat(snapshot.emitted()).isEqualTo(3);
+        assertThat(snapshot.suppressed()).isEqualTo(1);
+
+        assertThat(snapshot.timedCalls()).isEqualTo(3);
+        assertThat(snapshot.averageMdcNanos()).isPositive();
+        assertThat(snapshot.averageDelegateNanos()).isPositive();
+    }
+
+    @Test
+    void shouldTimeEmitterCalls() {
+        val metrics = LogMetrics.enable(1);
+
+        ContextLogger.of(infoLogger(), (logger, level, marker, message, arguments, throwable, context) -> {
+        }).event("order_created").error("failed");
+
+        val snapshot = metrics.snapshot();
+        assertThat(snapshot.emitted("order_created", Level.ERROR)).isEqualTo(1);
+        assertThat(snapshot.timedCalls()).isEqualTo(1);
+        assertThat(snapshot.averageMdcNanos()).isZero();
+    }
+
+    @Test
+    void shouldRecordNothingWhenDisabled() {
+        val metrics = LogMetrics.enable();
+        LogMetrics.disable();
+
+        ContextLogger.of(infoLogger()).event("order_created").info("created");
+
+        assertThat(LogMetrics.current()).isNull();
+        assertThat(metrics.snapshot().emitted()).isZero();
+    }
+
+    @Test
+    void shouldBoundNumberOfEvents() {
+        val metrics = LogMetrics.enable();
+
+        val logger = ContextLogger.of(infoLogger());
+        for (int i = 0; i < LogMetrics.MAX_EVENTS + 10; i++) {
+            logger.event("event_" + i).info("created");
+        }
+
+        val snapshot = metrics.snapshot();
+        assertThat(snapshot.events()).hasSize(LogMetrics.MAX_EVENTS + 1);
+        assertThat(snapshot.emitted(LogMetrics.OTHER_EVENTS)).isEqualTo(10);
+    }
+
+    @Test
+    void shouldExposeMBean() throws Exception {
+        LogMetrics.enable();
+        LogMetrics.registerMBean();
+
+        ContextLogger.of(infoLogger()).event("order_created").info("created");
+
+        val server = ManagementFactory.getPlatformMBeanServer();
+        val name = new ObjectName("io.vivy.logger:type=LogMetrics");
+        assertThat(server.getAttribute(name, "Emitted")).isEqualTo(1L);
+        assertThat(server.getAttribute(name, "Suppressed")).isEqualTo(0L);
+    }
+
+    private static Logger infoLogger() {
+        val mock = Mockito.mock(Logger.class);
+        when(mock.isInfoEnabled()).thenReturn(true);
+        when(mock.isWarnEnabled()).thenReturn(true);
+        when(mock.isErrorEnabled()).thenReturn(true);
+        return mock;
+    }
+}
@@ -0,0 +1,103 @@
+package io.vivy.logger;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+class ScopedContextTest {
+    private static final ch.qos.logback.classic.Logger log = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(ScopedContextTest.class);
+
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        MDC.clear();
+        appender = new ListAppender<>();
+        appender.start();
+        log.addAppender(appender);
+        log.setLevel(Level.INFO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        log.detachAppender(appender);
+        log.setLevel(null);
+    }
+
+    @Test
+    void shouldBindContextForCall() throws Exception {
+        val request = LogContext.empty().with("request_id", 7);
+
+        assertThat(ScopedContext.current().isEmpty()).isTrue();
+        val result = ScopedContext.call(request, () -> {
+            ScopedContext.run(ScopedContext.current().with("step", "inner"), () ->
+                    assertThat(ScopedContext.current().toMap()).hasSize(2).containsEntry("step", "inner")
+            );
+            return ScopedContext.current();
+        });
+
+        assertThat(result).isSameAs(request);
+        assertThat(ScopedContext.current().isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldUnbindWhenTaskFails() {
+        assertThatThrownBy(() -> ScopedContext.run(LogContext.empty().with("doomed", true), () -> {
+            throw new IllegalStateException("balrog");
+        })).hasMessage("balrog");
+
+        assertThat(ScopedContext.current().isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldPutScopedContextIntoEventsWithoutMDC() {
+        MDC.put("trace_id", "abc");
+        val logger = ContextLogger.of(log, Emitters.events()).event("ring_found");
+
+        ScopedContext.run(LogContext.empty().with("request_id", 7).with("event", "request"), () -> logger.info("found"));
+
+        assertThat(appender.list.get(0).getMDCPropertyMap())
+                .hasSize(3)
+                .containsEntry("trace_id", "abc")
+                .containsEntry("request_id", "7")
+                .containsEntry("event", "ring_found");
+        assertThat(MDC.getCopyOfContextMap()).hasSize(1);
+    }
+
+    @Test
+    void shouldInstallScopedContextWithMDC() {
+        val mock = Mockito.mock(Logger.class);
+        when(mock.isInfoEnabled()).thenReturn(true);
+
+        AtomicReference<Map<String, String>> map = new AtomicReference<>();
+        doAnswer(invocation -> {
+            map.set(MDC.getCopyOfContextMap());
+            return null;
+        }).when(mock).info(anyString());
+
+        ScopedContext.run(LogContext.empty().with("request_id", 7), () -> ContextLogger.of(mock).with("frodo", "baggins").info("hello"));
+
+        assertThat(map.get())
+                .hasSize(2)
+                .containsEntry("request_id", "7")
+                .containsEntry("frodo", "baggins");
+        assertThat(MDC.getCopyOfContextMap()).isNullOrEmpty();
+    }
+}
@@ -7,13 +7,20 @@ import org.mockito.Mockito;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doAnswer;
@@ -146,6 +153,103 @@ class StructuredLoggingTest {
         verify(mock, never()).info(anyString());
     }
 
+    @Test
+    void shouldNotRenderValuesIfLevelDisabled() {
+        val mock = Mockito.mock(Logger.class);
+        when(mock.isDebugEnabled()).thenReturn(false);
+        when(mock.isInfoEnabled()).thenReturn(true);
+
+        AtomicInteger rendered = new AtomicInteger();
+        Object expensive = new Object() {
+            @Override
+            public String toString() {
+                rendered.incrementAndGet();
+                return "expensive";
+            }
+        };
+
+        val logger = ContextLogger.of(mock)
+                .with("object", expensive)
+                .with("supplied", () -> {
+                    rendered.incrementAndGet();
+                    return 42;
+                });
+
+        logger.debug("dropped");
+
+        assertThat(rendered).hasValue(0);
+
+        AtomicReference<Map<String, String>> map = new AtomicReference<>();
+        doAnswer(invocation -> {
+            map.set(MDC.getCopyOfContextMap());
+            return null;
+        }).when(mock).info(anyString());
+
+        logger.info("logged");
+
+        assertThat(rendered).hasValue(2);
+        assertThat(map.get())
+                .hasSize(2)
+                .containsEntry("object", "expensive")
+                .containsEntry("supplied", "42");
+    }
+
+    @Test
+    void shouldRenderValuesAnewForEveryEvent() {
+        val mock = Mockito.mock(Logger.class);
+        when(mock.isInfoEnabled()).thenReturn(true);
+
+        List<Map<String, String>> maps = new ArrayList<>();
+        doAnswer(invocation -> {
+            maps.add(MDC.getCopyOfContextMap());
+            return null;
+        }).when(mock).info(anyString());
+
+        AtomicInteger counter = new AtomicInteger();
+        StringBuilder state = new StringBuilder("created");
+        Map<String, Object> values = new HashMap<>();
+        values.put("mapped", "first");
+
+        val logger = ContextLogger.of(mock)
+                .with("constant", "value")
+                .with("attempt", counter::incrementAndGet)
+                .with("state", state)
+                .with(values);
+
+        logger.info("first");
+        state.append(", paid");
+        values.put("mapped", "second");
+        logger.info("second");
+
+        assertThat(maps).hasSize(2);
+        assertThat(maps.get(0))
+                .containsEntry("constant", "value")
+                .containsEntry("attempt", "1")
+                .containsEntry("state", "created")
+                .containsEntry("mapped", "first");
+        assertThat(maps.get(1))
+                .containsEntry("constant", "value")
+                .containsEntry("attempt", "2")
+                .containsEntry("state", "created, paid")
+                .containsEntry("mapped", "second");
+    }
+
+    @Test
+    void shouldCheckLevelWithMarker() {
+        val mock = Mockito.mock(Logger.class);
+        val marker = MarkerFactory.getMarker("CONFIDENTIAL");
+        when(mock.isInfoEnabled()).thenReturn(true);
+        when(mock.isInfoEnabled(marker)).thenReturn(false);
+
+        val logger = ContextLogger.of(mock).with("string", "something");
+
+        logger.info(marker, "hidden");
+        logger.info("visible");
+
+        verify(mock, never()).info(any(Marker.class), anyString());
+        verify(mock).info("visible");
+    }
+
     @Test
     void shouldSaveAndEnrichContext() {
         val mock = Mockito.mock(Logger.class);
@@ -177,6 +281,138 @@ class StructuredLoggingTest {
         assertThat(MDC.getCopyOfContextMap()).isNullOrEmpty();
     }
 
+    @Test
+    void shouldOverrideEarlierKeysWithLaterOnes() {
+        val mock = Mockito.mock(Logger.class);
+        when(mock.isInfoEnabled()).thenReturn(true);
+
+        val base = ContextLogger.of(mock).with("gandalf", "gray", "frodo", "baggins");
+        val white = base.with("gandalf", "white");
+        val both = white.with("frodo", "ring-bearer", "gandalf", "the white");
+
+        AtomicReference<Map<String, String>> map = new AtomicReference<>();
+        doAnswer(invocation -> {
+            map.set(MDC.getCopyOfContextMap());
+            return null;
+        }).when(mock).info(anyString());
+
+        white.info("hello");
+
+        assertThat(map.get())
+                .hasSize(2)
+                .containsEntry("gandalf", "white")
+                .containsEntry("frodo", "baggins");
+
+        both.info("hello");
+
+        assertThat(map.get())
+                .hasSize(2)
+                .containsEntry("gandalf", "the white")
+                .containsEntry("frodo", "ring-bearer");
+
+        base.info("hello");
+
+        assertThat(map.get())
+                .hasSize(2)
+                .containsEntry("gandalf", "gray")
+                .containsEntry("frodo", "baggins");
+
+        assertThat(MDC.getCopyOfContextMap()).isNullOrEmpty();
+    }
+
+    @Test
+    void shouldMergeFragmentsAndMaps() {
+        val mock = Mockito.mock(Logger.class);
+        when(mock.isInfoEnabled()).thenReturn(true);
+
+        Map<String, Object> request = new HashMap<>();
+        request.put("request_id", 7);
+        request.put("gandalf", "white");
+
+        val service = ContextFragment.empty()
+                .with("service", "shire")
+                .with("gandalf", "gray");
+
+        val logger = ContextLogger.of(mock)
+                .with(service)
+                .with(request)
+                .with("frodo", "baggins");
+
+        AtomicReference<Map<String, String>> map = new AtomicReference<>();
+        doAnswer(invocation -> {
+            map.set(MDC.getCopyOfContextMap());
+            return null;
+        }).when(mock).info(anyString());
+
+        logger.info("hello");
+
+        assertThat(map.get())
+                .hasSize(4)
+                .containsEntry("service", "shire")
+                .containsEntry("request_id", "7")
+                .containsEntry("gandalf", "white")
+                .containsEntry("frodo", "baggins");
+
+        assertThat(LogContext.empty().with(service).toMap()).isSameAs(service.toMap());
+    }
+
+    @Test
+    void shouldLinkOtherContexts() {
+        val request = LogContext.empty()
+                .with("request_id", 7)
+                .with("gandalf", "white");
+
+        val context = ContextLogger.of(Mockito.mock(Logger.class))
+                .with("gandalf", "gray")
+                .with("service", "shire")
+                .with(request)
+                .with("frodo", "baggins")
+                .context();
+
+        assertThat(context.toMap())
+                .hasSize(4)
+                .containsEntry("service", "shire")
+                .containsEntry("request_id", "7")
+                .containsEntry("gandalf", "white")
+                .containsEntry("frodo", "baggins");
+        assertThat(context.get("gandalf")).isEqualTo("white");
+        assertThat(LogContext.empty().with(request)).isSameAs(request);
+        assertThat(request.with(LogContext.empty())).isSameAs(request);
+    }
+
+    @Test
+    void shouldRenderPrimitivesLikeBoxedValues() {
+        val mock = Mockito.mock(Logger.class);
+        when(mock.isInfoEnabled()).thenReturn(true);
+
+        val logger = ContextLogger.of(mock)
+                .with("int", 42)
+                .with("long", Long.MIN_VALUE)
+                .with("double", 0.1 + 0.2)
+                .with("float", 1.1f)
+                .with("boolean", true)
+                .with("char", 'r')
+                .with("int", -7);
+
+        AtomicReference<Map<String, String>> map = new AtomicReference<>();
+        doAnswer(invocation -> {
+            map.set(MDC.getCopyOfContextMap());
+            return null;
+        }).when(mock).info(anyString());
+
+        logger.info("hello");
+
+        assertThat(map.get())
+                .hasSize(6)
+                .containsEntry("int", String.valueOf((Object) (-7)))
+                .containsEntry("long", String.valueOf((Object) Long.MIN_VALUE))
+                .containsEntry("double", String.valueOf((Object) (0.1 + 0.2)))
+                .containsEntry("float", String.valueOf((Object) 1.1f))
+                .containsEntry("boolean", "true")
+                .containsEntry("char", "r");
+        assertThat(logger.context().get("float")).isEqualTo("1.1");
+    }
+
     @Test
     void shouldUseThreadLocalForMDCButInstanceBound() throws InterruptedException {
         val mock = Mockito.mock(Logger.class);
@@ -290,7 +526,87 @@ class StructuredLoggingTest {
                 .containsEntry("gandalf", "white");
 
         assertThat(MDC.getCopyOfContextMap())
-                .doesNotContainKeys("gandalf", "frodo")
-                .containsEntry("saruman", "rainbow");
+                .hasSize(3)
+                .containsEntry("saruman", "rainbow")
+                .containsEntry("gandalf", "gray")
+                .containsEntry("frodo", "bugins");
+    }
+
+    @Test
+    void shouldRestoreShadowedKeysIfDelegateFails() {
+        val mock = Mockito.mock(Logger.class);
+        when(mock.isErrorEnabled()).thenReturn(true);
+
+        MDC.put("trace_id", "outer");
+
+        AtomicReference<Map<String, String>> map = new AtomicReference<>();
+        doAnswer(invocation -> {
+            map.set(MDC.getCopyOfContextMap());
+            throw new IllegalStateException("appender is broken");
+        }).when(mock).error(anyString());
+
+        val logger = ContextLogger.of(mock).with("trace_id", "inner", "frodo", "baggins");
+
+        assertThatThrownBy(() -> logger.error("boom"))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(map.get())
+                .hasSize(2)
+                .containsEntry("trace_id", "inner")
+                .containsEntry("frodo", "baggins");
+        assertThat(MDC.getCopyOfContextMap())
+                .hasSize(1)
+                .containsEntry("trace_id", "outer");
+    }
+
+    @Test
+    void shouldKeepShadowedKeysForNestedLoggers() {
+        val mock = Mockito.mock(Logger.class);
+        when(mock.isInfoEnabled()).thenReturn(true);
+
+        MDC.put("gandalf", "gray");
+
+        val inner = ContextLogger.of(mock).with("gandalf", "white");
+        val outer = ContextLogger.of(mock).with("gandalf", "the grey pilgrim", "frodo", "baggins");
+
+        AtomicReference<Map<String, String>> map = new AtomicReference<>();
+        doAnswer(invocation -> {
+            inner.info("inner");
+            map.set(MDC.getCopyOfContextMap());
+            return null;
+        }).when(mock).info("outer");
+
+        outer.info("outer");
+
+        assertThat(map.get())
+                .hasSize(2)
+                .containsEntry("gandalf", "the grey pilgrim")
+                .containsEntry("frodo", "baggins");
+        assertThat(MDC.getCopyOfContextMap())
+                .hasSize(1)
+                .containsEntry("gandalf", "gray");
+    }
+
+    @Test
+    void shouldNotTouchMDCWithoutContext() {
+        val mock = Mockito.mock(Logger.class);
+        when(mock.isInfoEnabled()).thenReturn(true);
+
+        MDC.put("gandalf", "gray");
+
+        AtomicReference<Map<String, String>> map = new AtomicReference<>();
+        doAnswer(invocation -> {
+            map.set(MDC.getCopyOfContextMap());
+            return null;
+        }).when(mock).info(anyString());
+
+        ContextLogger.of(mock).info("hello");
+
+        assertThat(map.get())
+                .hasSize(1)
+                .containsEntry("gandalf", "gray");
+        assertThat(MDC.getCopyOfContextMap())
+                .hasSize(1)
+                .containsEntry("gandalf", "gray");
     }
 }
\ No newline at end of file
@@ -0,0 +1,221 @@
+package io.vivy.logger;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+class ThrottlingEmitterTest {
+
+    private final List<String> messages = new ArrayList<>();
+    private final List<Level> levels = new ArrayList<>();
+    private final List<Map<String, String>> contexts = new ArrayList<>();
+
+    @Test
+    void shouldSampleOneInN() {
+        val emitter = ThrottlingEmitter.builder(recording())
+                .sampleOneIn("cache_miss", 5)
+                .build();
+
+        val logger = ContextLogger.of(enabledLogger(), emitter).event("cache_miss").with("key", "ring");
+        for (int i = 0; i < 10; i++) {
+            logger.info("miss {}", i);
+        }
+
+        assertThat(messages).hasSize(2);
+        assertThat(emitter.suppressed()).isEqualTo(8);
+    }
+
+    @Test
+    void shouldSampleExactlyOneInNAcrossThreads() throws InterruptedException {
+        val passed = new AtomicInteger();
+        val emitter = ThrottlingEmitter.builder((logger, level, marker, message, arguments, throwable, context) -> passed.incrementAndGet())
+                .sampleOneIn("cache_miss", 10)
+                .build();
+
+        val logger = ContextLogger.of(enabledLogger(), emitter).event("cache_miss");
+        val threads = new ArrayList<Thread>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 250; i++) {
+                    logger.info("miss");
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(passed.get()).isEqualTo(100);
+        assertThat(emitter.suppressed()).isEqualTo(900);
+    }
+
+    @Test
+    void shouldRenderSuppliedEventOnce() {
+        val emitter = ThrottlingEmitter.builder(recording())
+                .sampleOneIn("cache_miss", Level.DEBUG, 1)
+                .build();
+        val calls = new AtomicInteger();
+
+        val logger = ContextLogger.of(enabledLogger(), emitter).with("event", () -> {
+            calls.incrementAndGet();
+            return "cache_miss";
+        });
+        logger.debug("with rule");
+        logger.info("without rule");
+
+        assertThat(messages).containsExactly("with rule", "without rule");
+        assertThat(contexts).allMatch(it -> "cache_miss".equals(it.get("event")));
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldPassEventsWithoutRule() {
+        val emitter = ThrottlingEmitter.builder(recording())
+                .sampleOneIn("cache_miss", 1000)
+                .build();
+
+        val logger = ContextLogger.of(enabledLogger(), emitter);
+        logger.event("cache_hit").info("hit");
+        logger.info("no event");
+        logger.event("cache_miss").info("first miss");
+        logger.event("cache_miss").info("second miss");
+
+        assertThat(messages).containsExactly("hit", "no event", "first miss");
+    }
+
+    @Test
+    void shouldApplyRulesPerLevel() {
+        val emitter = ThrottlingEmitter.builder(recording())
+                .sample("cache_miss", Level.DEBUG, 0.000_001)
+                .build();
+
+        val logger = ContextLogger.of(enabledLogger(), emitter).event("cache_miss");
+        for (int i = 0; i < 100; i++) {
+            logger.debug("debug");
+            logger.warn("warn");
+        }
+
+        assertThat(messages).hasSizeBetween(100, 101).allMatch("warn"::equals);
+    }
+
+    @Test
+    void shouldFindEventInFragmentsAndMaps() {
+        val emitter = ThrottlingEmitter.builder(recording())
+                .limit("payment_failed", 1, Duration.ofHours(1))
+                .build();
+
+        val logger = ContextLogger.of(enabledLogger(), emitter);
+        logger.with(ContextFragment.of(singletonEvent())).with("user_id", 1).error("first");
+        logger.event("payment_failed").error("second");
+        logger.with(singletonEvent()).error("third");
+
+        assertThat(messages).containsExactly("first");
+        assertThat(emitter.suppressed()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldLimitRate() throws InterruptedException {
+        val emitter = ThrottlingEmitter.builder(recording())
+                .limit("payment_failed", 3, Duration.ofMillis(300))
+                .build();
+
+        val logger = ContextLogger.of(enabledLogger(), emitter).event("payment_failed");
+        for (int i = 0; i < 10; i++) {
+            logger.error("failed");
+        }
+        assertThat(messages).hasSize(3);
+
+        Thread.sleep(150);
+        logger.error("failed");
+        assertThat(messages).hasSize(4);
+    }
+
+    @Test
+    void shouldReportSuppressedLines() {
+        val emitter = ThrottlingEmitter.builder(recording())
+                .sampleOneIn("cache_miss", 3)
+                .summaryEvery(Duration.ZERO)
+                .build();
+
+        val logger = ContextLogger.of(enabledLogger(), emitter).event("cache_miss");
+        for (int i = 0; i < 4; i++) {
+            logger.debug("miss");
+        }
+        logger.warn("miss");
+        logger.warn("miss");
+        logger.warn("miss");
+
+        assertThat(messages).containsExactly("miss", "miss", "suppressed {} lines of {}", "miss", "suppressed {} lines of {}");
+        assertThat(levels).containsExactly(Level.DEBUG, Level.DEBUG, Level.DEBUG, Level.WARN, Level.WARN);
+        assertThat(contexts.get(2))
+                .containsEntry("event", "log_suppressed")
+                .containsEntry("suppressed_event", "cache_miss")
+                .containsEntry("suppressed", "2");
+        assertThat(contexts.get(4)).containsEntry("suppressed", "2");
+    }
+
+    @Test
+    void shouldReportWithUnthrottledLinesAndOnFlush() {
+        val emitter = ThrottlingEmitter.builder(recording())
+                .limit("payment_failed", 1, Duration.ofHours(1))
+                .summaryEvery(Duration.ZERO)
+                .build();
+
+        val logger = ContextLogger.of(enabledLogger(), emitter);
+        for (int i = 0; i < 3; i++) {
+            logger.event("payment_failed").error("failed");
+        }
+        logger.info("unrelated");
+        logger.event("payment_failed").error("failed");
+        emitter.flush();
+        emitter.flush();
+
+        assertThat(messages).containsExactly("failed", "unrelated", "suppressed {} lines of {}", "suppressed {} lines of {}");
+        assertThat(contexts.get(2)).containsEntry("suppressed", "2");
+        assertThat(contexts.get(3)).containsEntry("suppressed", "1");
+    }
+
+    @Test
+    void shouldRejectInvalidRules() {
+        val builder = ThrottlingEmitter.builder(recording());
+
+        assertThatThrownBy(() -> builder.sampleOneIn("event", 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> builder.sample("event", 1.5)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> builder.limit("event", 10, Duration.ZERO)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Map<String, String> singletonEvent() {
+        return Collections.singletonMap("event", "payment_failed");
+    }
+
+    private static Logger enabledLogger() {
+        val mock = Mockito.mock(Logger.class);
+        when(mock.isDebugEnabled()).thenReturn(true);
+        when(mock.isInfoEnabled()).thenReturn(true);
+        when(mock.isWarnEnabled()).thenReturn(true);
+        when(mock.isErrorEnabled()).thenReturn(true);
+        return mock;
+    }
+
+    private Emitter recording() {
+        return (logger, level, marker, message, arguments, throwable, context) -> {
+            messages.add(message);
+            levels.add(level);
+            contexts.add(context.toMap());
+        };
+    }
+}
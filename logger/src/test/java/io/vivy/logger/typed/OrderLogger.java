@@ -0,0 +1,28 @@
+package io.vivy.logger.typed;
+
+import io.vivy.logger.ContextLogger;
+import io.vivy.logger.generator.annotations.GenerateContextLogger;
+import org.slf4j.Logger;
+
+import java.util.UUID;
+
+@GenerateContextLogger
+public interface OrderLogger extends ContextLogger {
+
+    static OrderLogger of(Logger logger) {
+        return new MDCOrderLogger(logger);
+    }
+
+    OrderLogger userId(long id);
+
+    OrderLogger orderId(UUID id);
+
+    OrderLogger express(boolean express);
+
+    @Override
+    OrderLogger with(String key, Object value);
+
+    default OrderLogger event(String event) {
+        return with("event", event);
+    }
+}
@@ -0,0 +1,29 @@
+package io.vivy.logger.typed;
+
+import io.vivy.logger.ContextLogger;
+import io.vivy.logger.generator.annotations.ContextKey;
+import io.vivy.logger.generator.annotations.GenerateContextLogger;
+import org.slf4j.Logger;
+
+public final class Payments {
+
+    private Payments() {
+    }
+
+    @GenerateContextLogger
+    public interface RefundLogger extends ContextLogger {
+
+        static RefundLogger of(Logger logger) {
+            return new MDCPayments_RefundLogger(logger);
+        }
+
+        @ContextKey("refund")
+        RefundLogger refundId(String id);
+
+        @Override
+        RefundLogger with(String key, Object value);
+
+        @Override
+        RefundLogger event(String event);
+    }
+}
@@ -0,0 +1,121 @@
+package io.vivy.logger.typed;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.vivy.logger.LevelOverrides;
+import lombok.val;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.slf4j.event.Level;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+class TypedContextLoggerTest {
+
+    private final Logger mock = Mockito.mock(Logger.class);
+    private final AtomicReference<Map<String, String>> map = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() {
+        MDC.clear();
+        when(mock.isInfoEnabled()).thenReturn(true);
+        doAnswer(invocation -> {
+            map.set(MDC.getCopyOfContextMap());
+            return null;
+        }).when(mock).info(anyString());
+    }
+
+    @Test
+    void shouldLogTypedFields() {
+        val orderId = UUID.randomUUID();
+
+        OrderLogger.of(mock)
+                .event("order_created")
+                .userId(42)
+                .orderId(orderId)
+                .info("created");
+
+        assertThat(map.get())
+                .hasSize(3)
+                .containsEntry("event", "order_created")
+                .containsEntry("user_id", "42")
+                .containsEntry("order_id", orderId.toString());
+        assertThat(MDC.getCopyOfContextMap()).isNullOrEmpty();
+    }
+
+    @Test
+    void shouldGenerateOneLoggerPerInterface() {
+        val refunds = Payments.RefundLogger.of(mock).refundId("r-1");
+
+        refunds.info("refunded");
+
+        assertThat(refunds.getClass().getSimpleName()).isEqualTo("MDCPayments_RefundLogger");
+        assertThat(OrderLogger.of(mock).getClass().getSimpleName()).isEqualTo("MDCOrderLogger");
+        assertThat(map.get()).containsOnlyKeys("refund");
+    }
+
+    @Test
+    void shouldBeImmutable() {
+        val base = OrderLogger.of(mock).userId(1);
+        val other = base.userId(2).express(true);
+
+        base.info("base");
+
+        assertThat(map.get())
+                .hasSize(1)
+                .containsEntry("user_id", "1");
+
+        other.info("other");
+
+        assertThat(map.get())
+                .hasSize(2)
+                .containsEntry("user_id", "2")
+                .containsEntry("express", "true");
+    }
+
+    @Test
+    void shouldPreferTypedFieldsOverGenericOnes() {
+        OrderLogger.of(mock)
+                .userId(42)
+                .with("user_id", "guessed")
+                .info("typed wins");
+
+        assertThat(map.get())
+                .hasSize(1)
+                .containsEntry("user_id", "42");
+    }
+
+    @Test
+    void shouldMatchLevelOverridesWithTypedFields() {
+        val log = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger("typed.overrides");
+        val appender = new ListAppender<ILoggingEvent>();
+        appender.start();
+        log.addAppender(appender);
+        log.setLevel(ch.qos.logback.classic.Level.INFO);
+        LevelOverrides.enable("user_id", 42L, Level.DEBUG);
+        try {
+            OrderLogger.of(log).userId(42).debug("typed");
+            OrderLogger.of(log).userId(7).debug("other user");
+
+            assertThat(appender.list)
+                    .extracting(ILoggingEvent::getFormattedMessage)
+                    .containsExactly("typed");
+            assertThat(appender.list.get(0).getMDCPropertyMap()).containsEntry("user_id", "42");
+        } finally {
+            LevelOverrides.disableAll();
+            log.detachAppender(appender);
+            log.setLevel(null);
+        }
+    }
+}